@@ -0,0 +1,119 @@
+package be.pxl.services.client;
+
+import be.pxl.services.loadbalancing.HedgeDelay;
+import be.pxl.services.loadbalancing.HedgedRequests;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.RetryableFeignBlockingLoadBalancerClient;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hedged reads for the given Feign methods (by {@link feign.Feign#configKey config key}), through
+ * {@link HedgedRequests}: if the first instance is slow, a second one is asked and the first answer wins.
+ * Every other method goes through the load-balanced client as before. Response bodies are buffered.
+ * <p>
+ * A Feign call cannot be aborted, so the losing attempt is not cancelled: it holds its thread and pooled
+ * connection until it returns, and counts as in flight on its instance until then.
+ */
+@Slf4j
+public class HedgingCapability implements Capability, Ordered {
+
+    private final HedgedRequests hedgedRequests;
+    private final HedgeDelay delay;
+    private final Set<String> methods;
+
+    public HedgingCapability(HedgedRequests hedgedRequests, HedgeDelay delay, Set<String> methods) {
+        this.hedgedRequests = hedgedRequests;
+        this.delay = delay;
+        this.methods = methods;
+    }
+
+    // Wrap the load-balanced client itself, before other capabilities such as metrics wrap it
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        Client transport;
+        if (client instanceof FeignBlockingLoadBalancerClient loadBalanced) {
+            transport = loadBalanced.getDelegate();
+        } else if (client instanceof RetryableFeignBlockingLoadBalancerClient loadBalanced) {
+            transport = loadBalanced.getDelegate();
+        } else {
+            log.warn("Not hedging {}: {} is not a load-balanced Feign client", methods, client.getClass().getName());
+            return client;
+        }
+        return (request, options) -> isHedged(request)
+                ? hedge(transport, request, options)
+                : client.execute(request, options);
+    }
+
+    private boolean isHedged(Request request) {
+        return request.httpMethod() == Request.HttpMethod.GET
+                && request.requestTemplate() != null
+                && request.requestTemplate().methodMetadata() != null
+                && methods.contains(request.requestTemplate().methodMetadata().configKey());
+    }
+
+    private Response hedge(Client transport, Request request, Request.Options options) throws IOException {
+        URI original = URI.create(request.url());
+        HttpHeaders headers = new HttpHeaders();
+        request.headers().forEach((name, values) -> headers.addAll(name, values.stream().toList()));
+        RequestData requestData = new RequestData(HttpMethod.GET, original, headers, new HttpHeaders(), Map.of());
+
+        try {
+            return hedgedRequests.executeBlocking(original.getHost(), requestData, delay,
+                            instance -> send(transport, request, options, original, instance))
+                    .block();
+        } catch (ResponseStatusException e) {
+            // no instance available; answer like the load-balanced client does
+            return Response.builder()
+                    .request(request)
+                    .status(e.getStatusCode().value())
+                    .reason(e.getReason())
+                    .headers(Map.of())
+                    .build();
+        } catch (RuntimeException e) {
+            if (Exceptions.unwrap(e) instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private static Response send(Client transport, Request request, Request.Options options, URI original,
+                                 ServiceInstance instance) throws IOException {
+        URI uri = LoadBalancerUriTools.reconstructURI(instance, original);
+        Request attempt = Request.create(request.httpMethod(), uri.toString(), request.headers(), request.body(),
+                request.charset(), request.requestTemplate());
+        // read the body here, so the dropped result of an attempt that loses the race has nothing left open
+        try (Response response = transport.execute(attempt, options)) {
+            Response.Builder copy = response.toBuilder().request(request);
+            if (response.body() != null) {
+                try (InputStream body = response.body().asInputStream()) {
+                    copy.body(body.readAllBytes());
+                }
+            }
+            return copy.build();
+        }
+    }
+}
@@ -5,12 +5,24 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "post-service")
+import java.util.List;
+
+@FeignClient(name = "post-service", configuration = PostClientConfiguration.class, fallbackFactory = PostClientFallbackFactory.class)
 public interface PostClient {
     @GetMapping("/api/post/{postId}")
     PostResponse getPostById(
             @PathVariable Long postId,
             @RequestHeader("X-Role") String role
     );
+
+    /**
+     * One page of published post ids greater than {@code after}, ascending.
+     */
+    @GetMapping("/api/post/published/ids")
+    List<Long> getPublishedPostIds(
+            @RequestParam("after") long after,
+            @RequestParam("size") int size
+    );
 }
@@ -0,0 +1,35 @@
+package be.pxl.services.client;
+
+import be.pxl.services.loadbalancing.HedgeDelay;
+import be.pxl.services.loadbalancing.HedgedRequests;
+import feign.Feign;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Feign configuration of {@link PostClient} only. Deliberately not a {@code @Configuration}: component scanning
+ * would apply it to every Feign client.
+ */
+public class PostClientConfiguration {
+
+    /**
+     * Hedged reads for {@link PostClient#getPostById}, which runs on every comment write.
+     * Bound through {@link Binder}: this child context has no conversion service for {@code @Value} durations.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "comment.post-client.hedging.enabled", havingValue = "true")
+    public HedgingCapability postClientHedging(HedgedRequests hedgedRequests, Environment environment) throws NoSuchMethodException {
+        Binder binder = Binder.get(environment);
+        HedgeDelay delay = new HedgeDelay(
+                binder.bind("comment.post-client.hedging.percentile", Double.class).orElse(0.95),
+                binder.bind("comment.post-client.hedging.min-delay", Duration.class).orElse(Duration.ofMillis(10)),
+                binder.bind("comment.post-client.hedging.max-delay", Duration.class).orElse(Duration.ofMillis(500)));
+        String getPostById = Feign.configKey(PostClient.class, PostClient.class.getMethod("getPostById", Long.class, String.class));
+        return new HedgingCapability(hedgedRequests, delay, Set.of(getPostById));
+    }
+}
@@ -0,0 +1,58 @@
+package be.pxl.services.client;
+
+import be.pxl.services.domain.dto.PostResponse;
+import be.pxl.services.services.PostExistenceCache;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Answers {@link PostClient} calls when post-service is failing, too slow, or its circuit is open.
+ * Client errors such as 404 are passed on unchanged.
+ */
+@Slf4j
+@Component
+public class PostClientFallbackFactory implements FallbackFactory<PostClient> {
+
+    private static final String PUBLISHED_STATUS = "PUBLISHED";
+
+    // Looked up lazily: the cache itself depends on PostClient
+    private final ObjectProvider<PostExistenceCache> postExistenceCache;
+
+    public PostClientFallbackFactory(ObjectProvider<PostExistenceCache> postExistenceCache) {
+        this.postExistenceCache = postExistenceCache;
+    }
+
+    @Override
+    public PostClient create(Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            throw clientError;
+        }
+
+        return new PostClient() {
+            @Override
+            public PostResponse getPostById(Long postId, String role) {
+                // The post may have been published by an event while the call was waiting
+                if (postExistenceCache.getObject().isPublished(postId)) {
+                    log.debug("post-service unavailable, post {} confirmed from the existence cache", postId);
+                    return PostResponse.builder().id(postId).status(PUBLISHED_STATUS).build();
+                }
+                log.warn("post-service unavailable and post {} is not cached: {}", postId, cause.toString());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Can't verify post " + postId + " right now, try again later");
+            }
+
+            @Override
+            public List<Long> getPublishedPostIds(long after, int size) {
+                // An empty list would wipe the existence cache, so fail and let the resync keep its data
+                throw new IllegalStateException("post-service unavailable", cause);
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package be.pxl.services.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueueConfiguration {
+
+    public static final String POST_EVENTS_EXCHANGE = "post-events";
+
+    @Bean
+    public FanoutExchange postEventsExchange() {
+        return new FanoutExchange(POST_EVENTS_EXCHANGE, true, false);
+    }
+
+    /**
+     * Every instance keeps its own set of known posts, so each one gets a private queue that goes away with it.
+     */
+    @Bean
+    public Queue postEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding postEventsBinding(Queue postEventsQueue, FanoutExchange postEventsExchange) {
+        return BindingBuilder.bind(postEventsQueue).to(postEventsExchange);
+    }
+
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
@@ -1,5 +1,6 @@
 package be.pxl.services.controller;
 
+import be.pxl.services.domain.dto.CommentPage;
 import be.pxl.services.domain.dto.CommentResponse;
 import be.pxl.services.domain.dto.CommentUpdateDto;
 import be.pxl.services.domain.dto.CreateCommentRequest;
@@ -11,11 +12,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/comment")
 @RequiredArgsConstructor
 public class CommentController {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ICommentService service;
 
     @PostMapping("/{postId}")
@@ -34,6 +39,26 @@ public class CommentController {
         return ResponseEntity.ok(service.getAllComments());
     }
 
+    @GetMapping("/post/{postId}")
+    public ResponseEntity<List<CommentResponse>> getCommentsForPost(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ICommentService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        CommentPage page = service.getCommentsForPost(postId, cursor, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.comments());
+    }
+
+    @GetMapping("/counts")
+    public Map<Long, Long> getCommentCounts(@RequestParam List<Long> postIds) {
+        return service.getCommentCounts(postIds);
+    }
+
     @PutMapping("/{commentId}")
     public CommentResponse updateComment(
             @PathVariable Long commentId,
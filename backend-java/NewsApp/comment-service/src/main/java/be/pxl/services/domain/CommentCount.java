@@ -0,0 +1,21 @@
+package be.pxl.services.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "comment_counts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentCount {
+    @Id
+    private Long postId;
+    private long commentCount;
+}
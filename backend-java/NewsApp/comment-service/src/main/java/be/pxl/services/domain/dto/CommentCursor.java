@@ -0,0 +1,42 @@
+package be.pxl.services.domain.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the oldest-first comment thread of a post. Encoded as an opaque, URL-safe token so clients just echo it back.
+ */
+public record CommentCursor(LocalDateTime creationDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static CommentCursor of(CommentResponse comment) {
+        return new CommentCursor(comment.getCreationDate(), comment.getId());
+    }
+
+    public static CommentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new CommentCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = creationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,8 @@
+package be.pxl.services.domain.dto;
+
+import java.util.List;
+
+/**
+ * One page of a post's comments. {@code nextCursor} is {@code null} when there are no newer comments.
+ */
+public record CommentPage(List<CommentResponse> comments, String nextCursor) { }
@@ -0,0 +1,7 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.CommentCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CommentCountRepository extends JpaRepository<CommentCount, Long> {
+}
@@ -1,7 +1,30 @@
 package be.pxl.services.repository;
 
 import be.pxl.services.domain.Comment;
+import be.pxl.services.domain.dto.CommentResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Query("select new be.pxl.services.domain.dto.CommentResponse(c.id, c.postId, c.content, c.author, c.creationDate) "
+            + "from Comment c where c.postId = :postId "
+            + "order by c.creationDate, c.id")
+    List<CommentResponse> findFirstPageByPostId(@Param("postId") Long postId, Limit limit);
+
+    @Query("select new be.pxl.services.domain.dto.CommentResponse(c.id, c.postId, c.content, c.author, c.creationDate) "
+            + "from Comment c where c.postId = :postId "
+            + "and (c.creationDate > :creationDate or (c.creationDate = :creationDate and c.id > :id)) "
+            + "order by c.creationDate, c.id")
+    List<CommentResponse> findPageByPostIdAfter(
+            @Param("postId") Long postId,
+            @Param("creationDate") LocalDateTime creationDate,
+            @Param("id") Long id,
+            Limit limit
+    );
 }
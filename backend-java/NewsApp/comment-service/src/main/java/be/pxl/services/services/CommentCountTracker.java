@@ -0,0 +1,174 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.CommentCount;
+import be.pxl.services.repository.CommentCountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the number of comments per post. Writes only bump an in-memory {@link LongAdder}; the accumulated
+ * deltas are added to the comment_counts table in one JDBC batch per flush, in a single transaction. Reads
+ * combine the stored count with the deltas that are not flushed yet; they wait for a flush in progress, so a
+ * delta is seen either pending or stored, never both.
+ */
+@Slf4j
+@Component
+public class CommentCountTracker {
+
+    // row alias instead of values(), which MySQL 8.0.20 deprecated
+    private static final String UPSERT_COUNT = "insert into comment_counts (post_id, comment_count) values (?, ?) as delta "
+            + "on duplicate key update comment_count = comment_count + delta.comment_count";
+    // recomputed from the comments themselves
+    private static final String BACKFILL_COUNTS = "insert into comment_counts (post_id, comment_count) "
+            + "select * from (select post_id, count(*) as total from comments where post_id is not null group by post_id) as counted "
+            + "on duplicate key update comment_count = counted.total";
+    private static final String BACKFILL_LOCK = "comment_counts_backfill";
+    private static final int BACKFILL_LOCK_TIMEOUT_SECONDS = 60;
+
+    private final CommentCountRepository countRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, LongAdder> pendingDeltas = new ConcurrentHashMap<>();
+    // increments don't take it; it only keeps reads from seeing a flush halfway
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public CommentCountTracker(
+            CommentCountRepository countRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.countRepository = countRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void increment(Long postId) {
+        pendingDeltas.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    public void decrement(Long postId) {
+        pendingDeltas.computeIfAbsent(postId, id -> new LongAdder()).decrement();
+    }
+
+    public Map<Long, Long> getCounts(Collection<Long> postIds) {
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        postIds.forEach(postId -> counts.put(postId, 0L));
+
+        flushLock.readLock().lock();
+        try {
+            for (CommentCount stored : countRepository.findAllById(postIds)) {
+                counts.put(stored.getPostId(), stored.getCommentCount());
+            }
+            postIds.forEach(postId -> counts.merge(postId, pendingDelta(postId), Long::sum));
+        } finally {
+            flushLock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${comment.counts.flush-interval:1s}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Object[]> batch = new ArrayList<>();
+        pendingDeltas.forEach((postId, adder) -> {
+            // sumThenReset swaps each cell atomically, so increments racing with the flush stay for the next one
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[]{postId, delta});
+            }
+        });
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // all or nothing, so putting the whole batch back on failure can't count a committed row twice
+            transactionTemplate.executeWithoutResult(transaction -> jdbcTemplate.batchUpdate(UPSERT_COUNT, batch));
+            log.debug("Flushed comment count deltas for {} posts", batch.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Flushing comment counts failed, keeping {} deltas for the next run", batch.size(), e);
+            batch.forEach(row -> pendingDeltas.computeIfAbsent((Long) row[0], id -> new LongAdder()).add((Long) row[1]));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Seeds the counts table from the comments that existed before counts were tracked. Runs while the context
+     * starts, before this instance takes requests or schedules a flush, under a MySQL named lock: an instance that
+     * starts at the same time waits, then finds the table filled and skips it, so it can't overwrite counts that
+     * already include deltas of the first instance.
+     * <p>
+     * Counts are not reconciled after that. A delta lost because an instance died before flushing, or a comment
+     * written during a rolling upgrade by an instance that doesn't track counts yet, stays off until the table is
+     * emptied and backfilled again. Reconciling while running isn't exact either, because other instances hold
+     * deltas for comments that are already committed.
+     */
+    @PostConstruct
+    public void backfill() {
+        // the lock belongs to the connection; the statements below use their own, autocommitted before it is released
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!namedLock(connection, "select get_lock(?, " + BACKFILL_LOCK_TIMEOUT_SECONDS + ")")) {
+                log.warn("Another instance is still backfilling comment counts, skipping it here");
+                return null;
+            }
+            try {
+                if (countRepository.count() == 0) {
+                    int rows = jdbcTemplate.update(BACKFILL_COUNTS);
+                    log.info("Backfilled comment counts ({} rows affected)", rows);
+                }
+            } finally {
+                namedLock(connection, "select release_lock(?)");
+            }
+            return null;
+        });
+    }
+
+    private static boolean namedLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, BACKFILL_LOCK);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getInt(1) == 1;
+            }
+        }
+    }
+
+    private long pendingDelta(Long postId) {
+        LongAdder adder = pendingDeltas.get(postId);
+        return adder == null ? 0 : adder.sum();
+    }
+}
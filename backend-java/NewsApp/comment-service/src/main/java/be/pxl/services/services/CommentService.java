@@ -2,27 +2,39 @@ package be.pxl.services.services;
 
 import be.pxl.services.client.PostClient;
 import be.pxl.services.domain.Comment;
+import be.pxl.services.domain.dto.CommentCursor;
+import be.pxl.services.domain.dto.CommentPage;
 import be.pxl.services.domain.dto.CommentResponse;
 import be.pxl.services.domain.dto.CommentUpdateDto;
 import be.pxl.services.domain.dto.CreateCommentRequest;
+import be.pxl.services.domain.dto.PostResponse;
 import be.pxl.services.repository.CommentRepository;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CommentService implements ICommentService{
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_COUNT_POST_IDS = 500;
+
     private final CommentRepository repository;
     private final PostClient postClient;
+    private final PostExistenceCache postExistenceCache;
+    private final CommentCountTracker commentCountTracker;
 
     @Override
     public CommentResponse createComment(
@@ -31,14 +43,7 @@ public class CommentService implements ICommentService{
             String author,
             String role
     ) {
-        try {
-            postClient.getPostById(postId, role);
-        } catch (FeignException.NotFound e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Can't find post with id " + postId);
-        } catch (FeignException e) {
-            log.error("Can't access Post Service", e);
-            throw new RuntimeException("Can't create comment.");
-        }
+        ensurePostExists(postId, role);
 
         Comment comment = Comment.builder()
                 .postId(postId)
@@ -48,6 +53,7 @@ public class CommentService implements ICommentService{
                 .build();
 
         repository.save(comment);
+        commentCountTracker.increment(postId);
         log.info("Comment with id: {}, created by {}", comment.getId(), author);
 
         return mapToCommentResponse(comment);
@@ -60,6 +66,38 @@ public class CommentService implements ICommentService{
         return comments.stream().map(this::mapToCommentResponse).toList();
     }
 
+    @Override
+    public CommentPage getCommentsForPost(Long postId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        CommentCursor after = CommentCursor.decode(cursor);
+
+        // fetch one extra row to know whether a next page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<CommentResponse> comments = after == null
+                ? repository.findFirstPageByPostId(postId, limit)
+                : repository.findPageByPostIdAfter(postId, after.creationDate(), after.id(), limit);
+
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            nextCursor = CommentCursor.of(comments.getLast()).encode();
+        }
+
+        log.debug("Fetched {} comments for post {}", comments.size(), postId);
+
+        return new CommentPage(comments, nextCursor);
+    }
+
+    @Override
+    public Map<Long, Long> getCommentCounts(List<Long> postIds) {
+        if (postIds.size() > MAX_COUNT_POST_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_COUNT_POST_IDS + " post ids per request");
+        }
+
+        return commentCountTracker.getCounts(new LinkedHashSet<>(postIds));
+    }
+
     @Override
     public CommentResponse updateComment(
             Long commentId,
@@ -98,9 +136,34 @@ public class CommentService implements ICommentService{
         }
 
         repository.delete(comment);
+        commentCountTracker.decrement(comment.getPostId());
         log.info("Deleted comment with id: {}", commentId);
     }
 
+    private void ensurePostExists(Long postId, String role) {
+        switch (postExistenceCache.lookup(postId)) {
+            case PUBLISHED -> {
+                return;
+            }
+            case MISSING -> throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Can't find post with id " + postId);
+            case UNKNOWN -> { }
+        }
+
+        Instant askedAt = Instant.now();
+        try {
+            PostResponse post = postClient.getPostById(postId, role);
+            if (post != null && "PUBLISHED".equals(post.getStatus())) {
+                postExistenceCache.markPublished(postId, askedAt);
+            }
+        } catch (FeignException.NotFound e) {
+            postExistenceCache.markMissing(postId);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Can't find post with id " + postId);
+        } catch (FeignException e) {
+            log.error("Can't access Post Service", e);
+            throw new RuntimeException("Can't create comment.");
+        }
+    }
+
     private CommentResponse mapToCommentResponse(Comment comment) {
         return CommentResponse.builder()
                 .id(comment.getId())
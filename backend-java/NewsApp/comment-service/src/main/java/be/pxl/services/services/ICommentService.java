@@ -1,14 +1,20 @@
 package be.pxl.services.services;
 
+import be.pxl.services.domain.dto.CommentPage;
 import be.pxl.services.domain.dto.CommentResponse;
 import be.pxl.services.domain.dto.CommentUpdateDto;
 import be.pxl.services.domain.dto.CreateCommentRequest;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ICommentService {
+    int DEFAULT_PAGE_SIZE = 20;
+
     CommentResponse createComment(CreateCommentRequest commentRequest, Long postId, String author, String role);
     List<CommentResponse> getAllComments();
+    CommentPage getCommentsForPost(Long postId, String cursor, int size);
+    Map<Long, Long> getCommentCounts(List<Long> postIds);
     CommentResponse updateComment(Long commentId, CommentUpdateDto updateDto, String author);
     void deleteComment(Long commentId, String author);
 }
@@ -0,0 +1,242 @@
+package be.pxl.services.services;
+
+import be.pxl.services.client.PostClient;
+import be.pxl.services.domain.dto.PostEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Local answer to "can this post be commented on", so creating a comment rarely needs post-service.
+ * Published post ids are kept in a bitmap that is loaded at startup, resynced periodically and updated from
+ * post lifecycle events. Ids post-service reported as missing are remembered for a short while.
+ * Anything else is {@link Lookup#UNKNOWN} and the caller has to ask post-service.
+ * An event older than one already applied for the same post is dropped, so a redelivered PUBLISHED can't bring
+ * back a post that was rejected since.
+ */
+@Slf4j
+@Component
+public class PostExistenceCache {
+
+    public enum Lookup { PUBLISHED, MISSING, UNKNOWN }
+
+    private static final String PUBLISHED_STATUS = "PUBLISHED";
+    // how long to remember when a post last changed; anything arriving later than this is left to the resync
+    private static final Duration ORDERING_WINDOW = Duration.ofHours(1);
+
+    private final PostClient postClient;
+    private final Cache<Long, Boolean> missingPosts;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<PostEvent> eventsDuringResync = new ArrayList<>();
+    private final Map<Long, Instant> lastApplied = new HashMap<>();
+    private final Counter publishedHits;
+    private final Counter missingHits;
+    private final Counter misses;
+    private final Counter feignCallsAvoided;
+    private final int resyncPageSize;
+
+    private BitSet publishedIds = new BitSet();
+    private boolean resyncing;
+
+    public PostExistenceCache(
+            PostClient postClient,
+            MeterRegistry meterRegistry,
+            @Value("${comment.post-cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${comment.post-cache.negative-maximum-size:10000}") long negativeMaximumSize,
+            @Value("${comment.post-cache.resync-page-size:10000}") int resyncPageSize
+    ) {
+        this.postClient = postClient;
+        this.resyncPageSize = resyncPageSize;
+        this.missingPosts = Caffeine.newBuilder()
+                .expireAfterWrite(negativeTtl)
+                .maximumSize(negativeMaximumSize)
+                .build();
+        this.publishedHits = lookupCounter(meterRegistry, "published");
+        this.missingHits = lookupCounter(meterRegistry, "missing");
+        this.misses = lookupCounter(meterRegistry, "unknown");
+        this.feignCallsAvoided = Counter.builder("comment.post.cache.feign.avoided")
+                .description("Post lookups answered locally instead of calling post-service")
+                .register(meterRegistry);
+    }
+
+    public Lookup lookup(long postId) {
+        if (isPublished(postId)) {
+            publishedHits.increment();
+            feignCallsAvoided.increment();
+            return Lookup.PUBLISHED;
+        }
+
+        if (missingPosts.getIfPresent(postId) != null) {
+            missingHits.increment();
+            feignCallsAvoided.increment();
+            return Lookup.MISSING;
+        }
+
+        misses.increment();
+        return Lookup.UNKNOWN;
+    }
+
+    /**
+     * Records post-service's answer that the post is published. {@code asOf} is when the question was sent: the answer
+     * is dropped if an event from after that moment was already applied, since it may describe an older state.
+     */
+    public void markPublished(long postId, Instant asOf) {
+        if (!fitsBitmap(postId)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!acceptInOrder(postId, asOf)) {
+                log.debug("Dropping post-service answer for post {}, a later event was applied", postId);
+                return;
+            }
+            publishedIds.set((int) postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markMissing(long postId) {
+        missingPosts.put(postId, Boolean.TRUE);
+    }
+
+    @RabbitListener(queues = "#{postEventsQueue.name}")
+    public void onPostEvent(PostEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!acceptInOrder(event)) {
+                log.debug("Dropping out-of-order {} event for post {}", event.type(), event.post().getId());
+                return;
+            }
+            if (resyncing) {
+                eventsDuringResync.add(event);
+            }
+            apply(publishedIds, event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        missingPosts.invalidate(event.post().getId());
+    }
+
+    @Scheduled(initialDelayString = "${comment.post-cache.initial-delay:0}", fixedDelayString = "${comment.post-cache.resync-interval:10m}")
+    public void resync() {
+        lock.writeLock().lock();
+        try {
+            resyncing = true;
+            eventsDuringResync.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // page by id straight into the bitmap, so the full id list is never held in memory
+        BitSet fresh = new BitSet();
+        long after = 0;
+        List<Long> page;
+        try {
+            do {
+                page = postClient.getPublishedPostIds(after, resyncPageSize);
+                page.stream().filter(PostExistenceCache::fitsBitmap).forEach(id -> fresh.set(id.intValue()));
+                if (!page.isEmpty()) {
+                    after = page.getLast();
+                }
+            } while (page.size() == resyncPageSize);
+        } catch (RuntimeException e) {
+            log.warn("Loading published post ids failed after id {}, keeping the current set", after, e);
+            finishResync(null);
+            return;
+        }
+
+        finishResync(fresh);
+    }
+
+    private void finishResync(BitSet fresh) {
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                eventsDuringResync.forEach(event -> apply(fresh, event));
+                publishedIds = fresh;
+                log.info("Loaded {} published post ids", fresh.cardinality());
+
+                Instant horizon = Instant.now().minus(ORDERING_WINDOW);
+                lastApplied.values().removeIf(occurredAt -> occurredAt.isBefore(horizon));
+            }
+            resyncing = false;
+            eventsDuringResync.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the post is known to be published, without counting as a lookup.
+     */
+    public boolean isPublished(long postId) {
+        if (!fitsBitmap(postId)) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            return publishedIds.get((int) postId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remembers when the post last changed. Returns false if a later change of that post was already applied.
+     */
+    private boolean acceptInOrder(PostEvent event) {
+        return acceptInOrder(event.post().getId(), event.occurredAt());
+    }
+
+    private boolean acceptInOrder(Long postId, Instant occurredAt) {
+        if (postId == null || occurredAt == null) {
+            return true;
+        }
+        Instant previous = lastApplied.get(postId);
+        if (previous != null && occurredAt.isBefore(previous)) {
+            return false;
+        }
+        lastApplied.put(postId, occurredAt);
+        return true;
+    }
+
+    private static void apply(BitSet target, PostEvent event) {
+        Long id = event.post().getId();
+        if (id != null && fitsBitmap(id)) {
+            target.set(id.intValue(), PUBLISHED_STATUS.equals(event.post().getStatus()));
+        }
+    }
+
+    /**
+     * Ids come from a pooled sequence, so they are dense apart from the unused rest of a block an instance held
+     * when it stopped; anything outside the int range is left to post-service.
+     */
+    private static boolean fitsBitmap(long postId) {
+        return postId >= 0 && postId <= Integer.MAX_VALUE;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("comment.post.cache.lookups")
+                .description("Post existence lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,172 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.CommentCount;
+import be.pxl.services.repository.CommentCountRepository;
+import be.pxl.services.services.CommentCountTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentCountTrackerUnitTest {
+
+    @Mock
+    CommentCountRepository countRepository;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    Connection connection;
+
+    @InjectMocks
+    CommentCountTracker tracker;
+
+    @Captor
+    ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    @Test
+    public void getCounts_ShouldAddUnflushedDeltasToStoredCounts() {
+        tracker.increment(1L);
+        tracker.increment(1L);
+        tracker.increment(2L);
+
+        Mockito.when(countRepository.findAllById(Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(new CommentCount(1L, 5), new CommentCount(3L, 1)));
+
+        Map<Long, Long> counts = tracker.getCounts(Set.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, 7L, 2L, 1L, 3L, 1L), counts);
+    }
+
+    @Test
+    public void getCounts_ShouldNotCountADeltaTwice_WhenAFlushRunsDuringTheRead() throws Exception {
+        AtomicLong stored = new AtomicLong(5);
+        tracker.increment(1L);
+        tracker.increment(1L);
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> stored.addAndGet((Long) row[1]));
+            return new int[]{1};
+        });
+        ExecutorService flusher = Executors.newSingleThreadExecutor();
+        List<Future<?>> flushes = new ArrayList<>();
+        Mockito.when(countRepository.findAllById(Set.of(1L))).thenAnswer(invocation -> {
+            // a scheduled flush comes in while the stored row is being read, and gets to commit if it isn't held back
+            flushes.add(flusher.submit(tracker::flush));
+            Thread.sleep(200);
+            return List.of(new CommentCount(1L, stored.get()));
+        });
+
+        Map<Long, Long> counts = tracker.getCounts(Set.of(1L));
+        flushes.getFirst().get(2, TimeUnit.SECONDS);
+        flusher.shutdown();
+
+        assertEquals(Map.of(1L, 7L), counts);
+        assertEquals(7L, stored.get());
+    }
+
+    @Test
+    public void flush_ShouldWriteNetDeltasInOneBatch() {
+        tracker.increment(1L);
+        tracker.increment(1L);
+        tracker.decrement(1L);
+        tracker.increment(2L);
+        tracker.decrement(2L);
+
+        tracker.flush();
+
+        Mockito.verify(jdbcTemplate).batchUpdate(anyString(), batchCaptor.capture());
+        Mockito.verify(transactionManager).commit(Mockito.any());
+        assertEquals(1, batchCaptor.getValue().size());
+        assertArrayEquals(new Object[]{1L, 1L}, batchCaptor.getValue().getFirst());
+
+        tracker.flush();
+
+        Mockito.verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void flush_ShouldKeepDeltas_WhenBatchFails() {
+        tracker.increment(1L);
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        tracker.flush();
+
+        // the batch was rolled back as a whole, so every delta is still owed
+        Mockito.verify(transactionManager).rollback(Mockito.any());
+        Mockito.when(countRepository.findAllById(Set.of(1L))).thenReturn(List.of());
+        assertEquals(Map.of(1L, 1L), tracker.getCounts(Set.of(1L)));
+    }
+
+    @Test
+    public void backfill_ShouldRecomputeCountsFromComments_WhenTableIsEmpty() throws SQLException {
+        holdsBackfillLock(true);
+        Mockito.when(countRepository.count()).thenReturn(0L);
+
+        tracker.backfill();
+
+        Mockito.verify(jdbcTemplate).update(Mockito.contains("on duplicate key update comment_count = counted.total"));
+        Mockito.verify(connection).prepareStatement("select release_lock(?)");
+    }
+
+    @Test
+    public void backfill_ShouldDoNothing_WhenCountsExist() throws SQLException {
+        holdsBackfillLock(true);
+        Mockito.when(countRepository.count()).thenReturn(3L);
+
+        tracker.backfill();
+
+        Mockito.verify(jdbcTemplate, Mockito.never()).update(anyString());
+    }
+
+    @Test
+    public void backfill_ShouldSkip_WhenAnotherInstanceHoldsTheLock() throws SQLException {
+        holdsBackfillLock(false);
+
+        tracker.backfill();
+
+        Mockito.verifyNoInteractions(countRepository);
+        Mockito.verify(jdbcTemplate, Mockito.never()).update(anyString());
+    }
+
+    private void holdsBackfillLock(boolean acquired) throws SQLException {
+        Mockito.when(jdbcTemplate.execute(Mockito.<ConnectionCallback<Object>>any()))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        ResultSet result = connection.prepareStatement(anyString()).executeQuery();
+        Mockito.when(result.next()).thenReturn(true);
+        Mockito.when(result.getInt(1)).thenReturn(acquired ? 1 : 0);
+    }
+}
@@ -6,7 +6,9 @@ import be.pxl.services.domain.Comment;
 import be.pxl.services.domain.dto.CommentUpdateDto;
 import be.pxl.services.domain.dto.CreateCommentRequest;
 import be.pxl.services.domain.dto.PostResponse;
+import be.pxl.services.repository.CommentCountRepository;
 import be.pxl.services.repository.CommentRepository;
+import be.pxl.services.services.CommentCountTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -28,6 +30,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +42,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "spring.cloud.config.enabled=false",
         "spring.cloud.discovery.enabled=false",
         "eureka.client.enabled=false",
+        "spring.rabbitmq.listener.simple.auto-startup=false"
 })
 public class CommentServiceApplicationTest {
 
@@ -51,12 +55,19 @@ public class CommentServiceApplicationTest {
     @Autowired
     private CommentRepository repository;
 
+    @Autowired
+    private CommentCountRepository countRepository;
+
+    @Autowired
+    private CommentCountTracker commentCountTracker;
+
     @MockBean
     private PostClient postClient;
 
+    // the same major version as docker-compose: the comment count upsert uses the 8.0 row alias syntax
     @Container
     private static MySQLContainer sqlContainer =
-            new MySQLContainer("mysql:5.7.37");
+            new MySQLContainer("mysql:8.0");
 
     @DynamicPropertySource
     static void registerMySQLProperties(DynamicPropertyRegistry registry) {
@@ -68,6 +79,7 @@ public class CommentServiceApplicationTest {
     @BeforeEach
     public void setup() {
         repository.deleteAll();
+        countRepository.deleteAll();
 
         Comment firstComment = Comment.builder()
                 .postId(10L)
@@ -124,6 +136,35 @@ public class CommentServiceApplicationTest {
         assertEquals("TestUser", savedComment.getAuthor());
     }
 
+    @Test
+    public void getCommentCounts_ShouldCountCreatedComments() throws Exception {
+        long postId = 1L;
+
+        Mockito.when(postClient.getPostById(postId, "user")).thenReturn(
+                new PostResponse(postId, "Title", "This is a post", "Bob", LocalDateTime.now(), "PUBLISHED"));
+
+        String requestString = objectMapper.writeValueAsString(CreateCommentRequest.builder()
+                .content("Counted comment")
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/comment/{postId}", postId)
+                            .header("X-User", "TestUser")
+                            .header("X-Role", "user")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestString))
+                    .andExpect(status().isCreated());
+        }
+
+        commentCountTracker.flush();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/comment/counts")
+                        .param("postIds", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1").value(2))
+                .andExpect(jsonPath("$.2").value(0));
+    }
+
     @Test
     public void getAllComments_ShouldReturnComments() throws Exception {
 
@@ -136,6 +177,31 @@ public class CommentServiceApplicationTest {
                 .andExpect(jsonPath("$[1].content").value("This is a second test comment"));
     }
 
+    @Test
+    public void getCommentsForPost_ShouldPageThroughOnePostsComments() throws Exception {
+        repository.save(Comment.builder()
+                .postId(10L)
+                .content("A later comment")
+                .author("Alice")
+                .creationDate(LocalDateTime.now().plusHours(2))
+                .build());
+
+        String nextCursor = mockMvc.perform(MockMvcRequestBuilders.get("/api/comment/post/{postId}", 10L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].content").value("This is a test comment"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/comment/post/{postId}", 10L)
+                        .param("size", "1")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].content").value("A later comment"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     public void updateComment_ShouldUpdateComment() throws Exception {
         Comment comment = repository.findAll().stream()
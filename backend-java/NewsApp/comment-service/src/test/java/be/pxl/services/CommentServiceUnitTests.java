@@ -2,24 +2,33 @@ package be.pxl.services;
 
 import be.pxl.services.client.PostClient;
 import be.pxl.services.domain.Comment;
+import be.pxl.services.domain.dto.CommentCursor;
+import be.pxl.services.domain.dto.CommentPage;
 import be.pxl.services.domain.dto.CommentResponse;
 import be.pxl.services.domain.dto.CommentUpdateDto;
 import be.pxl.services.domain.dto.CreateCommentRequest;
+import be.pxl.services.domain.dto.PostResponse;
 import be.pxl.services.repository.CommentRepository;
+import be.pxl.services.services.CommentCountTracker;
 import be.pxl.services.services.CommentService;
+import be.pxl.services.services.PostExistenceCache;
 import feign.FeignException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
 
@@ -34,6 +43,12 @@ public class CommentServiceUnitTests {
     @Mock
     PostClient postClient;
 
+    @Mock
+    PostExistenceCache postExistenceCache;
+
+    @Mock
+    CommentCountTracker commentCountTracker;
+
     @InjectMocks
     CommentService service;
 
@@ -50,11 +65,14 @@ public class CommentServiceUnitTests {
                 .content("This is a test comment")
                 .build();
 
+        Mockito.when(postExistenceCache.lookup(postId)).thenReturn(PostExistenceCache.Lookup.UNKNOWN);
+
         service.createComment(commentRequest, postId, author, role);
 
         Mockito.verify(repository, Mockito.times(1))
                 .save(captor.capture());
         assertEquals("Bob", captor.getValue().getAuthor());
+        Mockito.verify(commentCountTracker).increment(postId);
     }
 
     @Test
@@ -63,6 +81,7 @@ public class CommentServiceUnitTests {
                 .content("Test comment")
                 .build();
 
+        Mockito.when(postExistenceCache.lookup(1L)).thenReturn(PostExistenceCache.Lookup.UNKNOWN);
         Mockito.when(postClient.getPostById(1L, "user"))
                 .thenThrow(FeignException.NotFound.class);
 
@@ -70,6 +89,53 @@ public class CommentServiceUnitTests {
                 service.createComment(commentRequest, 1L, "Bob", "user"));
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        Mockito.verify(postExistenceCache).markMissing(1L);
+    }
+
+    @Test
+    public void createComment_ShouldSkipPostService_WhenPostIsKnownPublished() {
+        CreateCommentRequest commentRequest = CreateCommentRequest.builder()
+                .content("Test comment")
+                .build();
+
+        Mockito.when(postExistenceCache.lookup(1L)).thenReturn(PostExistenceCache.Lookup.PUBLISHED);
+
+        service.createComment(commentRequest, 1L, "Bob", "user");
+
+        Mockito.verify(repository).save(captor.capture());
+        Mockito.verifyNoInteractions(postClient);
+    }
+
+    @Test
+    public void createComment_ShouldThrowNotFound_WhenPostIsKnownMissing() {
+        CreateCommentRequest commentRequest = CreateCommentRequest.builder()
+                .content("Test comment")
+                .build();
+
+        Mockito.when(postExistenceCache.lookup(1L)).thenReturn(PostExistenceCache.Lookup.MISSING);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                service.createComment(commentRequest, 1L, "Bob", "user"));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        Mockito.verifyNoInteractions(postClient);
+    }
+
+    @Test
+    public void createComment_ShouldRememberPublishedPost_AfterPostServiceConfirmsIt() {
+        CreateCommentRequest commentRequest = CreateCommentRequest.builder()
+                .content("Test comment")
+                .build();
+
+        Mockito.when(postExistenceCache.lookup(1L)).thenReturn(PostExistenceCache.Lookup.UNKNOWN);
+        Mockito.when(postClient.getPostById(1L, "user")).thenReturn(PostResponse.builder()
+                .id(1L)
+                .status("PUBLISHED")
+                .build());
+
+        service.createComment(commentRequest, 1L, "Bob", "user");
+
+        Mockito.verify(postExistenceCache).markPublished(Mockito.eq(1L), Mockito.any(Instant.class));
     }
 
     @Test
@@ -78,6 +144,7 @@ public class CommentServiceUnitTests {
                 .content("Test comment")
                 .build();
 
+        Mockito.when(postExistenceCache.lookup(1L)).thenReturn(PostExistenceCache.Lookup.UNKNOWN);
         Mockito.when(postClient.getPostById(1L, "user"))
                 .thenThrow(FeignException.ServiceUnavailable.class);
 
@@ -113,6 +180,52 @@ public class CommentServiceUnitTests {
         assertEquals("Alice", responses.get(1).getAuthor());
     }
 
+    @Test
+    public void getCommentsForPost_ShouldReturnNextCursor_WhenMoreCommentsExist() {
+        LocalDateTime now = LocalDateTime.now();
+        CommentResponse first = CommentResponse.builder().id(1L).postId(10L).creationDate(now).build();
+        CommentResponse second = CommentResponse.builder().id(2L).postId(10L).creationDate(now.plusMinutes(1)).build();
+
+        Mockito.when(repository.findFirstPageByPostId(10L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        CommentPage page = service.getCommentsForPost(10L, null, 1);
+
+        assertEquals(List.of(first), page.comments());
+        assertEquals(new CommentCursor(now, 1L), CommentCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    public void getCommentsForPost_ShouldContinueAfterCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        CommentResponse next = CommentResponse.builder().id(2L).postId(10L).creationDate(now.plusMinutes(1)).build();
+
+        Mockito.when(repository.findPageByPostIdAfter(10L, now, 1L, Limit.of(21))).thenReturn(List.of(next));
+
+        CommentPage page = service.getCommentsForPost(10L, new CommentCursor(now, 1L).encode(), 20);
+
+        assertEquals(List.of(next), page.comments());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void getCommentsForPost_ShouldRejectMalformedCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                service.getCommentsForPost(10L, "not-a-cursor", 20));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    public void getCommentCounts_ShouldRejectTooManyPostIds() {
+        List<Long> postIds = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                service.getCommentCounts(postIds));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        Mockito.verifyNoInteractions(commentCountTracker);
+    }
+
     @Test
     public void updateComment_ShouldUpdateAndSaveComment() {
         Comment existingComment = Comment.builder()
@@ -188,6 +301,7 @@ public class CommentServiceUnitTests {
         service.deleteComment(1L, "Bob");
 
         Mockito.verify(repository, Mockito.times(1)).delete(comment);
+        Mockito.verify(commentCountTracker).decrement(10L);
     }
 
     @Test
@@ -0,0 +1,126 @@
+package be.pxl.services;
+
+import be.pxl.services.client.HedgingCapability;
+import be.pxl.services.client.PostClient;
+import be.pxl.services.loadbalancing.HedgeDelay;
+import be.pxl.services.loadbalancing.HedgedRequests;
+import be.pxl.services.loadbalancing.HedgedRequests.BlockingAttempt;
+import feign.Client;
+import feign.Feign;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HedgingCapabilityUnitTest {
+
+    @Mock
+    HedgedRequests hedgedRequests;
+
+    @Mock
+    FeignBlockingLoadBalancerClient loadBalancedClient;
+
+    @Mock
+    Client transport;
+
+    Client client;
+    Map<String, MethodMetadata> metadata;
+    Request.Options options = new Request.Options();
+
+    @BeforeEach
+    public void setup() throws NoSuchMethodException {
+        when(loadBalancedClient.getDelegate()).thenReturn(transport);
+        String getPostById = Feign.configKey(PostClient.class, PostClient.class.getMethod("getPostById", Long.class, String.class));
+        HedgingCapability capability = new HedgingCapability(hedgedRequests,
+                new HedgeDelay(0.95, Duration.ofMillis(10), Duration.ofMillis(500)), Set.of(getPostById));
+        client = capability.enrich(loadBalancedClient);
+        metadata = new HashMap<>();
+        new SpringMvcContract().parseAndValidateMetadata(PostClient.class)
+                .forEach(method -> metadata.put(method.method().getName(), method));
+    }
+
+    @Test
+    public void sendsOtherMethodsThroughTheLoadBalancedClient() throws IOException {
+        Request request = request("getPublishedPostIds", "http://post-service/api/post/published/ids");
+        Response response = response(request, "[1,2]");
+        when(loadBalancedClient.execute(request, options)).thenReturn(response);
+
+        assertSame(response, client.execute(request, options));
+        verifyNoInteractions(hedgedRequests);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void sendsHedgedAttemptsStraightToTheChosenInstance() throws IOException {
+        Request request = request("getPostById", "http://post-service/api/post/1");
+        ServiceInstance instance = new DefaultServiceInstance("post-2", "post-service", "10.0.0.2", 8081, false);
+        when(hedgedRequests.executeBlocking(eq("post-service"), any(), any(), any())).thenAnswer(invocation ->
+                Mono.fromCallable(() -> ((BlockingAttempt<Response>) invocation.getArgument(3)).call(instance)));
+        ArgumentCaptor<Request> sent = ArgumentCaptor.forClass(Request.class);
+        when(transport.execute(sent.capture(), eq(options))).thenAnswer(invocation -> response(invocation.getArgument(0), "{\"id\":1}"));
+
+        Response response = client.execute(request, options);
+
+        assertEquals("http://10.0.0.2:8081/api/post/1", sent.getValue().url());
+        assertEquals(List.of("writer"), List.copyOf(sent.getValue().headers().get("X-Role")));
+        assertSame(request, response.request());
+        // buffered, so it is still readable after the transport's response was closed
+        assertEquals("{\"id\":1}", new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void answersServiceUnavailableWithoutInstances() throws IOException {
+        Request request = request("getPostById", "http://post-service/api/post/1");
+        when(hedgedRequests.<Response>executeBlocking(eq("post-service"), any(), any(), any()))
+                .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No instances available for post-service")));
+
+        Response response = client.execute(request, options);
+
+        assertEquals(503, response.status());
+        verifyNoInteractions(transport);
+    }
+
+    private Request request(String method, String url) {
+        RequestTemplate template = new RequestTemplate();
+        template.methodMetadata(metadata.get(method));
+        return Request.create(Request.HttpMethod.GET, url, Map.of("X-Role", List.of("writer")), null, StandardCharsets.UTF_8, template);
+    }
+
+    private static Response response(Request request, String body) {
+        return Response.builder()
+                .request(request)
+                .status(200)
+                .headers(Map.of())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package be.pxl.services;
+
+import be.pxl.services.client.PostClient;
+import be.pxl.services.client.PostClientFallbackFactory;
+import be.pxl.services.domain.dto.PostResponse;
+import be.pxl.services.services.PostExistenceCache;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+public class PostClientFallbackFactoryUnitTest {
+
+    @Mock
+    PostExistenceCache postExistenceCache;
+
+    @Mock
+    ObjectProvider<PostExistenceCache> postExistenceCacheProvider;
+
+    PostClientFallbackFactory fallbackFactory;
+
+    @BeforeEach
+    public void setup() {
+        fallbackFactory = new PostClientFallbackFactory(postExistenceCacheProvider);
+    }
+
+    @Test
+    public void getPostById_ShouldConfirmCachedPost_WhenCircuitIsOpen() {
+        Mockito.when(postExistenceCacheProvider.getObject()).thenReturn(postExistenceCache);
+        Mockito.when(postExistenceCache.isPublished(4L)).thenReturn(true);
+
+        PostResponse post = fallbackFactory.create(openCircuit()).getPostById(4L, "user");
+
+        assertEquals(4L, post.getId());
+        assertEquals("PUBLISHED", post.getStatus());
+    }
+
+    @Test
+    public void getPostById_ShouldFailFastWithServiceUnavailable_WhenPostIsNotCached() {
+        Mockito.when(postExistenceCacheProvider.getObject()).thenReturn(postExistenceCache);
+        Mockito.when(postExistenceCache.isPublished(4L)).thenReturn(false);
+        PostClient fallback = fallbackFactory.create(new TimeoutException());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> fallback.getPostById(4L, "user"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+    }
+
+    @Test
+    public void create_ShouldPassOnClientErrors() {
+        FeignException notFound = FeignException.errorStatus("PostClient#getPostById(Long,String)",
+                feign.Response.builder()
+                        .status(404)
+                        .request(Request.create(Request.HttpMethod.GET, "/api/post/4", Map.of(), null,
+                                StandardCharsets.UTF_8, null))
+                        .build());
+
+        assertThrows(FeignException.NotFound.class, () -> fallbackFactory.create(notFound));
+    }
+
+    @Test
+    public void getPublishedPostIds_ShouldFailInsteadOfReturningNoIds() {
+        PostClient fallback = fallbackFactory.create(openCircuit());
+
+        assertThrows(IllegalStateException.class, () -> fallback.getPublishedPostIds(0, 100));
+    }
+
+    private static CallNotPermittedException openCircuit() {
+        return CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("post-service-getPostById"));
+    }
+}
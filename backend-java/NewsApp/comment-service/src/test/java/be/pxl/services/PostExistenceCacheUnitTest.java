@@ -0,0 +1,117 @@
+package be.pxl.services;
+
+import be.pxl.services.client.PostClient;
+import be.pxl.services.domain.PostEventType;
+import be.pxl.services.domain.dto.PostEvent;
+import be.pxl.services.domain.dto.PostResponse;
+import be.pxl.services.services.PostExistenceCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+public class PostExistenceCacheUnitTest {
+
+    @Mock
+    PostClient postClient;
+
+    SimpleMeterRegistry meterRegistry;
+
+    PostExistenceCache cache;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PostExistenceCache(postClient, meterRegistry, Duration.ofMinutes(1), 100, 2);
+    }
+
+    @Test
+    public void lookup_ShouldKnowPublishedPosts_AfterResync() {
+        Mockito.when(postClient.getPublishedPostIds(0, 2)).thenReturn(List.of(1L, 5L));
+        Mockito.when(postClient.getPublishedPostIds(5, 2)).thenReturn(List.of(9L));
+
+        cache.resync();
+
+        assertEquals(PostExistenceCache.Lookup.PUBLISHED, cache.lookup(5L));
+        assertEquals(PostExistenceCache.Lookup.PUBLISHED, cache.lookup(9L));
+        assertEquals(PostExistenceCache.Lookup.UNKNOWN, cache.lookup(2L));
+        assertEquals(2, meterRegistry.get("comment.post.cache.feign.avoided").counter().count());
+    }
+
+    @Test
+    public void lookup_ShouldFollowPostEvents() {
+        cache.onPostEvent(event(3L, "PUBLISHED"));
+
+        assertEquals(PostExistenceCache.Lookup.PUBLISHED, cache.lookup(3L));
+
+        cache.onPostEvent(event(3L, "REJECTED"));
+
+        assertEquals(PostExistenceCache.Lookup.UNKNOWN, cache.lookup(3L));
+    }
+
+    @Test
+    public void onPostEvent_ShouldDropEventsOlderThanTheLastAppliedForThePost() {
+        Instant published = Instant.now().minusSeconds(5);
+        Instant rejected = published.plusSeconds(2);
+
+        cache.onPostEvent(new PostEvent(PostEventType.STATUS_CHANGED, PostResponse.builder().id(3L).status("REJECTED").build(), rejected));
+        // redelivered, or overtaken by the rejection on the way here
+        cache.onPostEvent(new PostEvent(PostEventType.STATUS_CHANGED, PostResponse.builder().id(3L).status("PUBLISHED").build(), published));
+
+        assertEquals(PostExistenceCache.Lookup.UNKNOWN, cache.lookup(3L));
+    }
+
+    @Test
+    public void markPublished_ShouldNotOverrideALaterUnpublish() {
+        Instant askedAt = Instant.now().minusSeconds(1);
+        // the post was rejected while post-service was still answering that it is published
+        cache.onPostEvent(new PostEvent(PostEventType.STATUS_CHANGED, PostResponse.builder().id(3L).status("REJECTED").build(),
+                askedAt.plusMillis(500)));
+
+        cache.markPublished(3L, askedAt);
+
+        assertEquals(PostExistenceCache.Lookup.UNKNOWN, cache.lookup(3L));
+
+        cache.markPublished(3L, Instant.now());
+
+        assertEquals(PostExistenceCache.Lookup.PUBLISHED, cache.lookup(3L));
+    }
+
+    @Test
+    public void lookup_ShouldForgetMissingPost_WhenItIsCreated() {
+        cache.markMissing(7L);
+
+        assertEquals(PostExistenceCache.Lookup.MISSING, cache.lookup(7L));
+
+        cache.onPostEvent(event(7L, "PENDING"));
+
+        assertEquals(PostExistenceCache.Lookup.UNKNOWN, cache.lookup(7L));
+    }
+
+    @Test
+    public void resync_ShouldKeepCurrentSet_WhenPostServiceFails() {
+        cache.markPublished(1L, Instant.now());
+        Mockito.when(postClient.getPublishedPostIds(0, 2)).thenReturn(List.of(2L, 3L));
+        Mockito.when(postClient.getPublishedPostIds(3, 2)).thenThrow(new IllegalStateException("post-service down"));
+
+        cache.resync();
+
+        assertEquals(PostExistenceCache.Lookup.PUBLISHED, cache.lookup(1L));
+        // a half-loaded resync is thrown away
+        assertEquals(PostExistenceCache.Lookup.UNKNOWN, cache.lookup(2L));
+    }
+
+    private PostEvent event(Long postId, String status) {
+        return new PostEvent(PostEventType.STATUS_CHANGED, PostResponse.builder().id(postId).status(status).build(), Instant.now());
+    }
+}
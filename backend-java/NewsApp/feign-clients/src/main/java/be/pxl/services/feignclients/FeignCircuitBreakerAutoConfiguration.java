@@ -0,0 +1,39 @@
+package be.pxl.services.feignclients;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Every Feign method runs behind its own Resilience4j circuit breaker, semaphore bulkhead and time limiter.
+ * Defaults live under {@code resilience4j.*.configs.default}; a single method can be tuned through
+ * {@code resilience4j.*.instances.<client>-<method>}. Runs before {@link FeignAutoConfiguration}, which only
+ * registers its own name resolver when none exists yet.
+ */
+@AutoConfiguration(before = FeignAutoConfiguration.class)
+@ConditionalOnClass({CircuitBreakerNameResolver.class, Resilience4JCircuitBreakerFactory.class})
+public class FeignCircuitBreakerAutoConfiguration {
+
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName + "-" + method.getName();
+    }
+
+    /**
+     * The time limiter runs guarded calls on an executor; use virtual threads instead of the factory's
+     * unbounded platform thread pool.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Customizer<Resilience4JCircuitBreakerFactory> virtualThreadCircuitBreakerExecutor() {
+        return factory -> factory.configureExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,34 @@
+package be.pxl.services.feignclients;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign uses the pooled Apache HttpClient 5 transport by default ({@code spring.cloud.openfeign.httpclient.hc5.*}),
+ * or the JDK HttpClient with HTTP/2 when {@code spring.cloud.openfeign.http2client.enabled} is set instead.
+ * Per-method latency comes from the Feign Micrometer capability as {@code http.client.requests}.
+ */
+@AutoConfiguration
+@ConditionalOnClass({MeterRegistry.class, HttpClientConnectionManager.class})
+public class FeignTransportAutoConfiguration {
+
+    /**
+     * Leased, available and pending connections of the Feign connection pool. Pending connections mean callers
+     * are waiting because every connection to a route is in use.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package be.pxl.services.feignclients;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class FeignCircuitBreakerAutoConfigurationUnitTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withPropertyValues("spring.cloud.openfeign.circuitbreaker.enabled=true")
+            .withBean(CircuitBreakerFactory.class, () -> mock(CircuitBreakerFactory.class))
+            .withConfiguration(AutoConfigurations.of(
+                    FeignAutoConfiguration.class,
+                    FeignCircuitBreakerAutoConfiguration.class,
+                    FeignTransportAutoConfiguration.class));
+
+    @Test
+    public void namesCircuitBreakersPerClientMethod() throws Exception {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(CircuitBreakerNameResolver.class);
+            CircuitBreakerNameResolver resolver = context.getBean(CircuitBreakerNameResolver.class);
+
+            assertThat(resolver.resolveCircuitBreakerName("post-service", null, Object.class.getMethod("toString")))
+                    .isEqualTo("post-service-toString");
+        });
+    }
+}
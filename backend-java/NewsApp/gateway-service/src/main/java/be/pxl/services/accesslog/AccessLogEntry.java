@@ -0,0 +1,10 @@
+package be.pxl.services.accesslog;
+
+/**
+ * One completed gateway request.
+ *
+ * @param upstream {@code host:port} of the backend instance that served the request, or {@code -} when none did
+ */
+public record AccessLogEntry(long timestampMillis, String method, String routeId, int status, String upstream,
+                             long durationNanos) {
+}
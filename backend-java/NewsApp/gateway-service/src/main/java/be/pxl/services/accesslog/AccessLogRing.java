@@ -0,0 +1,74 @@
+package be.pxl.services.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer with many producers (the event loops) and a single consumer (the writer).
+ * A producer claims a slot by advancing {@code tail}; when the ring is full the entry is dropped rather than
+ * making the request wait.
+ */
+public class AccessLogRing {
+
+    private final AtomicReferenceArray<AccessLogEntry> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    public AccessLogRing(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(AccessLogEntry entry) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head.get() >= slots.length()) {
+                dropped.increment();
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.lazySet((int) claimed & mask, entry);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands every entry published so far to {@code consumer}, in order. Only the writer thread may call this.
+     *
+     * @return number of entries drained
+     */
+    public int drain(Consumer<AccessLogEntry> consumer) {
+        int drained = 0;
+        long next = head.get();
+        while (true) {
+            int index = (int) next & mask;
+            AccessLogEntry entry = slots.get(index);
+            // Either empty, or a producer claimed the slot and has not stored its entry yet
+            if (entry == null) {
+                return drained;
+            }
+            slots.lazySet(index, null);
+            head.lazySet(++next);
+            consumer.accept(entry);
+            drained++;
+        }
+    }
+
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+}
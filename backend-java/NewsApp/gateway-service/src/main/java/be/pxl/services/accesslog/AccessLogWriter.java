@@ -0,0 +1,83 @@
+package be.pxl.services.accesslog;
+
+import be.pxl.services.config.AccessLogProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the access log ring buffer on a background thread and writes one structured line per entry,
+ * keeping log formatting and I/O off the Netty event loops.
+ */
+@Component
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogWriter implements SmartLifecycle {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("be.pxl.services.access");
+
+    private final AccessLogRing ring;
+    private final long idleNanos;
+    private volatile boolean running;
+    private Thread thread;
+
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.ring = new AccessLogRing(properties.bufferSize());
+        this.idleNanos = properties.drainInterval().toNanos();
+        Gauge.builder("gateway.access.log.buffered", ring, AccessLogRing::size)
+                .description("Access log entries waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.access.log.dropped", ring, AccessLogRing::dropped)
+                .description("Access log entries dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    public boolean submit(AccessLogEntry entry) {
+        return ring.offer(entry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("access-log-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            if (ring.drain(AccessLogWriter::write) == 0) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        ring.drain(AccessLogWriter::write);
+    }
+
+    private static void write(AccessLogEntry entry) {
+        ACCESS_LOG.info("ts={} method={} route={} status={} upstream={} duration_ms={}",
+                Instant.ofEpochMilli(entry.timestampMillis()), entry.method(), entry.routeId(), entry.status(),
+                entry.upstream(), String.format("%.3f", entry.durationNanos() / 1_000_000.0));
+    }
+}
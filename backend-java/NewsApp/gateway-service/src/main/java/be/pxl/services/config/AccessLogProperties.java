@@ -0,0 +1,24 @@
+package be.pxl.services.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the asynchronous access log.
+ *
+ * @param enabled whether access log lines are written; latency metrics are recorded either way
+ * @param sampleRate share of requests written to the access log, between 0 and 1
+ * @param bufferSize number of entries the ring buffer holds before new entries are dropped, rounded up to a power of two
+ * @param drainInterval how long the writer sleeps when the buffer is empty
+ */
+@ConfigurationProperties("gateway.access-log")
+public record AccessLogProperties(Boolean enabled, Double sampleRate, Integer bufferSize, Duration drainInterval) {
+
+    public AccessLogProperties {
+        enabled = enabled == null || enabled;
+        sampleRate = sampleRate != null ? Math.clamp(sampleRate, 0.0, 1.0) : 1.0;
+        bufferSize = bufferSize != null ? bufferSize : 8192;
+        drainInterval = drainInterval != null ? drainInterval : Duration.ofMillis(100);
+    }
+}
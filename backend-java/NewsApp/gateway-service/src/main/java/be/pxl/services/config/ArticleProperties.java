@@ -0,0 +1,25 @@
+package be.pxl.services.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Time budgets for the calls behind {@code GET /article/{postId}}.
+ *
+ * @param postTimeout the post is required, the article fails when it is not back in time
+ * @param commentsTimeout comments are left out of the article when they take longer
+ * @param countTimeout the comment count is left out of the article when it takes longer
+ * @param commentsPageSize number of comments included with the article
+ */
+@ConfigurationProperties("gateway.article")
+public record ArticleProperties(Duration postTimeout, Duration commentsTimeout, Duration countTimeout,
+                                Integer commentsPageSize) {
+
+    public ArticleProperties {
+        postTimeout = postTimeout != null ? postTimeout : Duration.ofSeconds(2);
+        commentsTimeout = commentsTimeout != null ? commentsTimeout : Duration.ofSeconds(1);
+        countTimeout = countTimeout != null ? countTimeout : Duration.ofMillis(500);
+        commentsPageSize = commentsPageSize != null ? commentsPageSize : 20;
+    }
+}
@@ -0,0 +1,18 @@
+package be.pxl.services.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for collapsing identical concurrent GET requests into one backend call.
+ *
+ * @param enabled whether requests are coalesced at all
+ * @param maxInFlight number of distinct requests tracked at once; beyond that requests go to the backend as-is
+ */
+@ConfigurationProperties("gateway.coalescing")
+public record CoalescingProperties(Boolean enabled, Integer maxInFlight) {
+
+    public CoalescingProperties {
+        enabled = enabled == null || enabled;
+        maxInFlight = maxInFlight != null ? maxInFlight : 10_000;
+    }
+}
@@ -0,0 +1,54 @@
+package be.pxl.services.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-client request limits. Clients are identified by {@code X-User}, or by their address when the header is missing.
+ * Every request also counts against a bucket for its address, {@code addressFactor} times the route limit, so
+ * changing {@code X-User} on each request does not get around the limit.
+ *
+ * @param idleTimeout a client's bucket is dropped after this long without requests
+ * @param maximumKeys upper bound on the number of buckets kept in memory
+ * @param addressFactor how many clients' worth of requests one address may send in total
+ * @param defaultLimit limit for routes that have no entry of their own, {@code null} leaves them unlimited
+ * @param routes limits per gateway route id, or per service id for {@code lb://} routes such as the discovery locator's
+ */
+@ConfigurationProperties("gateway.rate-limit")
+public record RateLimitProperties(
+        Duration idleTimeout,
+        Long maximumKeys,
+        Integer addressFactor,
+        RouteLimit defaultLimit,
+        Map<String, RouteLimit> routes
+) {
+
+    public RateLimitProperties {
+        idleTimeout = idleTimeout != null ? idleTimeout : Duration.ofMinutes(10);
+        maximumKeys = maximumKeys != null ? maximumKeys : 1_000_000L;
+        addressFactor = addressFactor != null ? addressFactor : 5;
+        routes = routes != null ? routes : Map.of();
+        if (addressFactor <= 0) {
+            throw new IllegalArgumentException("address-factor must be positive");
+        }
+    }
+
+    /**
+     * @param replenishRate tokens added per second
+     * @param burstCapacity maximum number of tokens a client can save up
+     */
+    public record RouteLimit(int replenishRate, int burstCapacity) {
+
+        public RouteLimit {
+            if (replenishRate <= 0 || burstCapacity <= 0) {
+                throw new IllegalArgumentException("replenish-rate and burst-capacity must be positive");
+            }
+        }
+
+        public RouteLimit times(int factor) {
+            return new RouteLimit(replenishRate * factor, burstCapacity * factor);
+        }
+    }
+}
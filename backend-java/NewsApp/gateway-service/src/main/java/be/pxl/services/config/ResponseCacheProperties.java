@@ -0,0 +1,39 @@
+package be.pxl.services.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gateway response cache settings. Only GET requests on the routes listed under {@code routes} are cached.
+ *
+ * @param maximumSize total size of the cached bodies before the least useful entries are evicted
+ * @param maximumEntrySize bodies larger than this are passed through without being cached
+ * @param routes cache policy per gateway route id
+ */
+@ConfigurationProperties("gateway.cache")
+public record ResponseCacheProperties(DataSize maximumSize, DataSize maximumEntrySize, Map<String, RoutePolicy> routes) {
+
+    public ResponseCacheProperties {
+        maximumSize = maximumSize != null ? maximumSize : DataSize.ofMegabytes(64);
+        maximumEntrySize = maximumEntrySize != null ? maximumEntrySize : DataSize.ofMegabytes(1);
+        routes = routes != null ? routes : Map.of();
+    }
+
+    /**
+     * @param ttl how long a response is served without asking the backend
+     * @param staleWhileRevalidate how long after {@code ttl} the old response may still be served while a fresh one is fetched
+     * @param excludedPaths path patterns of the route that are never cached, matched on the gateway path before any rewrite
+     */
+    public record RoutePolicy(Duration ttl, Duration staleWhileRevalidate, List<String> excludedPaths) {
+
+        public RoutePolicy {
+            ttl = ttl != null ? ttl : Duration.ZERO;
+            staleWhileRevalidate = staleWhileRevalidate != null ? staleWhileRevalidate : Duration.ZERO;
+            excludedPaths = excludedPaths != null ? excludedPaths : List.of();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package be.pxl.services.controller;
+
+import be.pxl.services.domain.dto.ArticleResponse;
+import be.pxl.services.services.IArticleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/article")
+@RequiredArgsConstructor
+public class ArticleController {
+
+    private final IArticleService articleService;
+
+    @GetMapping("/{postId}")
+    public Mono<ArticleResponse> getArticle(
+            @PathVariable Long postId,
+            @RequestHeader("X-Role") String role
+    ) {
+        return articleService.getArticle(postId, role);
+    }
+}
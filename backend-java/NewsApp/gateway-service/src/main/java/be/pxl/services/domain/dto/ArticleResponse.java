@@ -0,0 +1,13 @@
+package be.pxl.services.domain.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * A post together with its first page of comments and its comment count.
+ * Parts that could not be fetched in time are {@code null} and listed in {@code unavailable}.
+ */
+public record ArticleResponse(JsonNode post, List<JsonNode> comments, String nextCommentsCursor, Long commentCount,
+                              List<String> unavailable) {
+}
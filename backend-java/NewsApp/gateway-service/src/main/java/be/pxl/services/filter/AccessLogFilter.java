@@ -0,0 +1,98 @@
+package be.pxl.services.filter;
+
+import be.pxl.services.accesslog.AccessLogEntry;
+import be.pxl.services.accesslog.AccessLogWriter;
+import be.pxl.services.config.AccessLogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Times every routed request into a per-route latency histogram and hands a sample of them to the
+ * {@link AccessLogWriter}. Nothing is formatted or written on the event loop.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    // Outermost of the gateway filters so rate-limited and cached answers are logged too
+    public static final int ORDER = RateLimitFilter.ORDER - 10;
+
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+    private static final String NONE = "-";
+
+    private final AccessLogProperties properties;
+    private final AccessLogWriter writer;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+
+    public AccessLogFilter(AccessLogProperties properties, AccessLogWriter writer, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.writer = writer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> completed(exchange, signal, System.nanoTime() - start));
+    }
+
+    private void completed(ServerWebExchange exchange, SignalType signal, long durationNanos) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : NONE;
+        latencies.computeIfAbsent(routeId, this::latencyTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (properties.enabled() && ThreadLocalRandom.current().nextDouble() < properties.sampleRate()) {
+            writer.submit(new AccessLogEntry(System.currentTimeMillis(), exchange.getRequest().getMethod().name(),
+                    routeId, status(exchange, signal), upstream(exchange), durationNanos));
+        }
+    }
+
+    private Timer latencyTimer(String routeId) {
+        return Timer.builder("gateway.route.latency")
+                .description("Time from the gateway receiving a request to its response completing")
+                .tag("route", routeId)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static int status(ServerWebExchange exchange, SignalType signal) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null) {
+            return status.value();
+        }
+        // Errors are turned into a response by the exception handler after this filter has finished
+        return signal == SignalType.CANCEL ? CLIENT_CLOSED_REQUEST : signal == SignalType.ON_ERROR ? 500 : 200;
+    }
+
+    private static String upstream(ServerWebExchange exchange) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        // Still lb://service-id when no instance could be chosen
+        if (url == null || url.getHost() == null || "lb".equals(url.getScheme())) {
+            return NONE;
+        }
+        return url.getPort() != -1 ? url.getHost() + ':' + url.getPort() : url.getHost();
+    }
+}
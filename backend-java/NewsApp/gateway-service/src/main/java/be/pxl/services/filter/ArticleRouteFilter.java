@@ -0,0 +1,57 @@
+package be.pxl.services.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * The article endpoint is served by the gateway itself, so requests to it never pass the route filters.
+ * This filter runs the access log and rate limiter around it as if it were the route {@value #ROUTE_ID}:
+ * it is limited under {@code gateway.rate-limit.routes.article} and timed like the proxied routes.
+ */
+@Component
+public class ArticleRouteFilter implements WebFilter, Ordered {
+
+    public static final String ROUTE_ID = "article";
+
+    private static final PathPattern PATH = PathPatternParser.defaultInstance.parse("/article/**");
+    private static final Route ROUTE = Route.async()
+            .id(ROUTE_ID)
+            .uri(URI.create("forward:/article"))
+            .predicate(exchange -> true)
+            .build();
+
+    private final AccessLogFilter accessLogFilter;
+    private final RateLimitFilter rateLimitFilter;
+
+    public ArticleRouteFilter(AccessLogFilter accessLogFilter, RateLimitFilter rateLimitFilter) {
+        this.accessLogFilter = accessLogFilter;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    @Override
+    public int getOrder() {
+        return AccessLogFilter.ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!PATH.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, ROUTE);
+        GatewayFilterChain controller = chain::filter;
+        return accessLogFilter.filter(exchange, limited -> rateLimitFilter.filter(limited, controller));
+    }
+}
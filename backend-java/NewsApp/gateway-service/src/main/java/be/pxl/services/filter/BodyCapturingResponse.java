@@ -0,0 +1,46 @@
+package be.pxl.services.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * Buffers the body the backend writes, hands the bytes to {@code onBody} and then writes them on to the client.
+ * Streaming writes ({@code writeAndFlushWith}, used for NDJSON and SSE) pass through untouched and are never captured.
+ */
+class BodyCapturingResponse extends ServerHttpResponseDecorator {
+
+    private final Consumer<byte[]> onBody;
+
+    BodyCapturingResponse(ServerHttpResponse delegate, Consumer<byte[]> onBody) {
+        super(delegate);
+        this.onBody = onBody;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(Flux.from(body))
+                .map(BodyCapturingResponse::toBytes)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(bytes -> {
+                    onBody.accept(bytes);
+                    return getDelegate().writeWith(Mono.fromSupplier(() -> bufferFactory().wrap(bytes)));
+                });
+    }
+
+    static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package be.pxl.services.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A complete backend response held in memory: status, end-to-end headers and the body bytes.
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAtNanos) {
+
+    private static final int HEADER_OVERHEAD = 64;
+    private static final Set<String> NOT_STORED = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "date", "set-cookie", "x-cache");
+
+    public static CachedResponse of(ServerHttpResponse response, byte[] body, long nowNanos) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            // CORS headers belong to the request that produced the response, the gateway adds its own
+            if (!NOT_STORED.contains(lower) && !lower.startsWith("access-control-")) {
+                headers.put(name, values);
+            }
+        });
+        return new CachedResponse(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body, nowNanos);
+    }
+
+    public int weight() {
+        return body.length + HEADER_OVERHEAD * (headers.size() + 1);
+    }
+
+    public long ageNanos(long nowNanos) {
+        return nowNanos - storedAtNanos;
+    }
+
+    /**
+     * Answers {@code 304 Not Modified} instead when the request's {@code If-None-Match} names this response's ETag.
+     */
+    public Mono<Void> writeTo(ServerHttpRequest request, ServerHttpResponse response) {
+        String etag = headers.getETag();
+        if (HttpStatus.OK.equals(status) && etag != null && request.getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            return response.setComplete();
+        }
+        return writeTo(response);
+    }
+
+    public Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        headers.forEach((name, values) -> response.getHeaders().put(name, values));
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,56 @@
+package be.pxl.services.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response that is not connected to any client. Used to run the filter chain in the background,
+ * e.g. to refresh a cache entry, and read the result from {@link #getBody()} afterwards.
+ */
+class DetachedServerHttpResponse extends AbstractServerHttpResponse {
+
+    private volatile byte[] body = new byte[0];
+
+    DetachedServerHttpResponse() {
+        super(DefaultDataBufferFactory.sharedInstance);
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public <T> T getNativeResponse() {
+        throw new IllegalStateException("A detached response has no native response");
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(Flux.from(body))
+                .map(BodyCapturingResponse::toBytes)
+                .doOnNext(bytes -> this.body = bytes)
+                .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWithInternal(Flux.from(body).concatMap(Flux::from));
+    }
+}
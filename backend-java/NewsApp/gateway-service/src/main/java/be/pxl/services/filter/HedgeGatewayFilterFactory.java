@@ -0,0 +1,125 @@
+package be.pxl.services.filter;
+
+import be.pxl.services.loadbalancing.HedgeDelay;
+import be.pxl.services.loadbalancing.HedgedRequests;
+import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Opt-in hedged reads for an {@code lb://} route, e.g.
+ * <pre>
+ * - name: Hedge
+ *   args:
+ *     paths: /api/post/{postId:\d+}
+ *     percentile: 0.95
+ * </pre>
+ * Matching GETs (after earlier filters such as {@code RewritePath}) are sent by {@link HedgedRequests} instead of the
+ * routing filters: a second instance is tried once the first is slower than the route's recent percentile latency.
+ * The upstream response is buffered, so only use it for small bodies.
+ */
+@Component
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final HedgedRequests hedgedRequests;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final WebClient webClient;
+
+    public HedgeGatewayFilterFactory(HedgedRequests hedgedRequests, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                     HttpClient httpClient) {
+        super(Config.class);
+        this.hedgedRequests = hedgedRequests;
+        this.headersFilters = headersFilters;
+        // the gateway's own connection pool and timeouts, without load balancing: instances are picked per attempt
+        this.webClient = WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> paths = config.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        HedgeDelay delay = new HedgeDelay(config.getPercentile(), config.getMinDelay(), config.getMaxDelay());
+
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+            if (route == null || !"lb".equals(route.getUri().getScheme())
+                    || !HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                    || (!paths.isEmpty() && paths.stream().noneMatch(pattern -> pattern.matches(path)))) {
+                return chain.filter(exchange);
+            }
+
+            HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+            headers.remove(HttpHeaders.HOST);
+            return hedgedRequests.execute(route.getUri().getHost(), new RequestData(exchange.getRequest()), delay,
+                            instance -> send(exchange, headers, instance))
+                    .onErrorMap(e -> !(e instanceof ResponseStatusException), e -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, null, e))
+                    .flatMap(response -> write(exchange, response));
+        };
+    }
+
+    private Mono<UpstreamResponse> send(ServerWebExchange exchange, HttpHeaders headers, ServiceInstance instance) {
+        URI uri = LoadBalancerUriTools.reconstructURI(instance, exchange.getRequest().getURI());
+        return webClient.get()
+                .uri(uri)
+                .headers(target -> target.addAll(headers))
+                .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .defaultIfEmpty(EMPTY)
+                        .map(body -> new UpstreamResponse(uri, response.statusCode(), response.headers().asHttpHeaders(), body)));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, UpstreamResponse upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.status());
+        response.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(), upstream.headers(),
+                exchange, HttpHeadersFilter.Type.RESPONSE));
+        response.getHeaders().setContentLength(upstream.body().length);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, upstream.uri());
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(upstream.body())));
+    }
+
+    private record UpstreamResponse(URI uri, HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    @Data
+    public static class Config {
+        /**
+         * Path patterns to hedge, matched after the route's rewrites; empty hedges every GET of the route.
+         */
+        private List<String> paths = List.of();
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,66 @@
+package be.pxl.services.filter;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * {@link ReactiveLoadBalancerClientFilter} reports successes and failures to the load balancer lifecycle but not
+ * requests the client cancelled, so the peak-EWMA balancer would count them as in flight forever. Report those as
+ * {@link CompletionContext.Status#DISCARD}.
+ */
+@Component
+public class LoadBalancerCancellationFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+
+    private final LoadBalancerClientFactory clientFactory;
+
+    public LoadBalancerCancellationFilter(LoadBalancerClientFactory clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange).doOnCancel(() -> {
+            Response<ServiceInstance> lbResponse = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            if (lbResponse == null || !lbResponse.hasServer() || route == null) {
+                return;
+            }
+            // the id the load balancer filter used, not the instance's own (Eureka reports it upper-cased)
+            String serviceId = route.getUri().getHost();
+            Set<LoadBalancerLifecycle> lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                    clientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+                    RequestDataContext.class, Object.class, ServiceInstance.class);
+            DefaultRequest<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext(new RequestData(exchange.getRequest())));
+            lifecycles.forEach(lifecycle -> lifecycle.onComplete(
+                    new CompletionContext(CompletionContext.Status.DISCARD, request, lbResponse)));
+        });
+    }
+}
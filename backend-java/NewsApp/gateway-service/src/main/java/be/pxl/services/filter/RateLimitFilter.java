@@ -0,0 +1,149 @@
+package be.pxl.services.filter;
+
+import be.pxl.services.config.RateLimitProperties;
+import be.pxl.services.config.RateLimitProperties.RouteLimit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Local per-client rate limiting with one {@link TokenBucket} per route and client, plus a larger one per route and
+ * client address.
+ * Rejected requests get a 429 with {@code Retry-After}. Buckets live in a Caffeine cache that drops
+ * idle ones, so the number of distinct clients does not grow memory without bound.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    // Before the response cache so cached answers are limited as well
+    public static final int ORDER = ResponseCacheFilter.ORDER - 10;
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                .maximumSize(properties.maximumKeys())
+                .ticker(clock::getAsLong)
+                .build();
+        Gauge.builder("gateway.rate.limit.buckets", buckets, cache -> {
+                    cache.cleanUp();
+                    return cache.estimatedSize();
+                })
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        LimitedRoute limited = route != null ? resolve(route) : null;
+        if (limited == null) {
+            return chain.filter(exchange);
+        }
+
+        long now = clock.getAsLong();
+        ServerHttpRequest request = exchange.getRequest();
+        // the address bucket first, so a rejected address doesn't also drain the client's tokens
+        long waitNanos = tryAcquire(limited.name() + '|' + "addr:" + address(request),
+                limited.limit().times(properties.addressFactor()), now);
+        if (waitNanos == 0) {
+            waitNanos = tryAcquire(limited.name() + '|' + clientKey(request), limited.limit(), now);
+        }
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+
+        Counter.builder("gateway.rate.limit.rejected")
+                .description("Requests rejected because the client exceeded the route limit")
+                .tag("route", limited.name())
+                .register(meterRegistry)
+                .increment();
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * Looks the limit up by route id, then by the service behind an {@code lb://} route, so the discovery locator's
+     * routes share the limit and the buckets of the configured route to the same service.
+     */
+    private LimitedRoute resolve(Route route) {
+        RouteLimit byRoute = properties.routes().get(route.getId());
+        if (byRoute != null) {
+            return new LimitedRoute(route.getId(), byRoute);
+        }
+        URI uri = route.getUri();
+        if ("lb".equals(uri.getScheme()) && uri.getHost() != null) {
+            String serviceId = uri.getHost().toLowerCase(Locale.ROOT);
+            RouteLimit byService = properties.routes().get(serviceId);
+            if (byService != null) {
+                return new LimitedRoute(serviceId, byService);
+            }
+        }
+        return properties.defaultLimit() != null ? new LimitedRoute(route.getId(), properties.defaultLimit()) : null;
+    }
+
+    private long tryAcquire(String key, RouteLimit limit, long now) {
+        return buckets.get(key, ignored -> new TokenBucket(limit.replenishRate(), limit.burstCapacity(), now))
+                .tryAcquire(now);
+    }
+
+    static String clientKey(ServerHttpRequest request) {
+        String user = request.getHeaders().getFirst("X-User");
+        if (user != null && !user.isBlank()) {
+            return "user:" + user.trim();
+        }
+        return "ip:" + address(request);
+    }
+
+    private static String address(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address != null && address.getAddress() != null
+                ? address.getAddress().getHostAddress()
+                : "unknown";
+    }
+
+    private record LimitedRoute(String name, RouteLimit limit) {
+    }
+}
@@ -0,0 +1,113 @@
+package be.pxl.services.filter;
+
+import be.pxl.services.config.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Forwards only one of several identical GET requests that are in flight at the same time.
+ * The first request runs the rest of the chain against a detached response; that call is a cached
+ * {@link Mono}, so every exchange waiting on the same key receives the same buffered response.
+ * The forwarded request drops its conditional headers, since one caller's {@code If-None-Match} says nothing
+ * about the others; each caller then gets a {@code 304} only for its own matching ETag.
+ * Streaming requests (NDJSON, SSE) are never coalesced.
+ */
+@Component
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    // After the response cache so only cache misses are coalesced, before the response is written
+    public static final int ORDER = ResponseCacheFilter.ORDER + 10;
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Mono<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.coalescing.in.flight", inFlightCount, AtomicInteger::get)
+                .description("Distinct GET requests currently forwarded on behalf of coalesced callers")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.enabled() || route == null || exchange.getRequest().getMethod() != HttpMethod.GET
+                || isStreaming(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        String key = RequestKey.of(route.getId(), exchange.getRequest());
+        Mono<CachedResponse> existing = inFlight.get(key);
+        if (existing != null) {
+            collapsed(route.getId());
+            return existing.flatMap(response -> response.writeTo(exchange.getRequest(), exchange.getResponse()));
+        }
+        if (inFlightCount.get() >= properties.maxInFlight()) {
+            return chain.filter(exchange);
+        }
+
+        Mono<CachedResponse> leader = forward(key, exchange, chain);
+        existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            collapsed(route.getId());
+            return existing.flatMap(response -> response.writeTo(exchange.getRequest(), exchange.getResponse()));
+        }
+        inFlightCount.incrementAndGet();
+        return leader.flatMap(response -> response.writeTo(exchange.getRequest(), exchange.getResponse()));
+    }
+
+    private Mono<CachedResponse> forward(String key, ServerWebExchange exchange, GatewayFilterChain chain) {
+        DetachedServerHttpResponse detached = new DetachedServerHttpResponse();
+        ServerHttpRequest unconditional = new UnconditionalRequest(exchange.getRequest());
+        return chain.filter(exchange.mutate().request(unconditional).response(detached).build())
+                .then(Mono.fromSupplier(() -> CachedResponse.of(detached, detached.getBody(), System.nanoTime())))
+                .doFinally(signal -> {
+                    // Late arrivals start a new call instead of getting an answer that may already be outdated
+                    if (inFlight.remove(key) != null) {
+                        inFlightCount.decrementAndGet();
+                    }
+                })
+                .cache();
+    }
+
+    private static boolean isStreaming(ServerWebExchange exchange) {
+        return exchange.getRequest().getHeaders().getAccept().stream()
+                .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)
+                        || type.equalsTypeAndSubtype(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    private void collapsed(String routeId) {
+        Counter.builder("gateway.coalescing.collapsed")
+                .description("GET requests answered with the response of an identical in-flight request")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,28 @@
+package be.pxl.services.filter;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.Locale;
+
+/**
+ * Identifies requests that get the same response: same route, path, query, role and {@code Accept}.
+ */
+final class RequestKey {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private RequestKey() {
+    }
+
+    static String of(String routeId, ServerHttpRequest request) {
+        String role = request.getHeaders().getFirst("X-Role");
+        String normalizedRole = role == null || role.isBlank() ? ANONYMOUS : role.trim().toLowerCase(Locale.ROOT);
+        String accept = request.getHeaders().getAccept().isEmpty()
+                ? MediaType.ALL_VALUE
+                : MediaType.toString(request.getHeaders().getAccept()).toLowerCase(Locale.ROOT);
+        String query = request.getURI().getRawQuery();
+        return routeId + '|' + request.getURI().getRawPath() + (query != null ? '?' + query : "")
+                + '|' + normalizedRole + '|' + accept;
+    }
+}
@@ -0,0 +1,242 @@
+package be.pxl.services.filter;
+
+import be.pxl.services.config.ResponseCacheProperties;
+import be.pxl.services.config.ResponseCacheProperties.RoutePolicy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Caches successful GET responses of the routes configured under {@code gateway.cache.routes}, except on the
+ * route's excluded paths.
+ * Responses are keyed on route, path, query, the normalized {@code X-Role} header and {@code Accept}.
+ * A fresh entry is served directly; an entry past its TTL but within its stale-while-revalidate window
+ * is served as well while a single background request refreshes it. Responses marked {@code no-store},
+ * {@code no-cache} or {@code private}, or that set a cookie, are passed through without being stored.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@Slf4j
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    // Has to wrap the response before NettyWriteResponseFilter writes the backend body to it
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 20;
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheProperties properties;
+    private final Map<String, List<PathPattern>> excludedPaths;
+    private final LongSupplier clock;
+    private final Cache<String, Entry> store;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final MeterRegistry meterRegistry;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+
+    @Autowired
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.properties = properties;
+        this.excludedPaths = properties.routes().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, route -> route.getValue().excludedPaths().stream()
+                        .map(PathPatternParser.defaultInstance::parse)
+                        .toList()));
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.store = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumSize().toBytes())
+                .weigher((String key, Entry entry) -> entry.response().weight())
+                .expireAfter(new RetentionExpiry())
+                .ticker(clock::getAsLong)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, store, "gateway.responses");
+        Gauge.builder("gateway.cache.hit.ratio", this, ResponseCacheFilter::hitRatio)
+                .description("Share of cacheable requests answered from the gateway cache, stale hits included")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        RoutePolicy policy = route != null ? properties.routes().get(route.getId()) : null;
+        if (policy == null || policy.ttl().isZero() || exchange.getRequest().getMethod() != HttpMethod.GET
+                || isExcluded(route.getId(), exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+
+        String key = RequestKey.of(route.getId(), exchange.getRequest());
+        Entry entry = store.getIfPresent(key);
+        long age = entry != null ? entry.response().ageNanos(clock.getAsLong()) : Long.MAX_VALUE;
+
+        if (age < policy.ttl().toNanos()) {
+            record(route.getId(), "hit");
+            return serve(exchange, entry.response(), "HIT");
+        }
+        if (age < policy.ttl().plus(policy.staleWhileRevalidate()).toNanos()) {
+            record(route.getId(), "stale");
+            revalidate(key, policy, exchange, chain);
+            return serve(exchange, entry.response(), "STALE");
+        }
+
+        record(route.getId(), "miss");
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+        ServerHttpResponse capturing = new BodyCapturingResponse(response, body -> put(key, policy, response, body));
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    private boolean isExcluded(String routeId, ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        return excludedPaths.get(routeId).stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+        return cached.writeTo(exchange.getRequest(), response);
+    }
+
+    private void revalidate(String key, RoutePolicy policy, ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        DetachedServerHttpResponse detached = new DetachedServerHttpResponse();
+        ServerHttpRequest unconditional = new UnconditionalRequest(exchange.getRequest());
+        ServerWebExchange background = new BackgroundExchange(
+                exchange.mutate().request(unconditional).response(detached).build(), exchange.getAttributes());
+
+        chain.filter(background)
+                .then(Mono.fromRunnable(() -> put(key, policy, detached, detached.getBody())))
+                .doFinally(signal -> refreshing.remove(key))
+                .subscribe(null, ex -> log.warn("Refreshing cached response {} failed: {}", key, ex.getMessage()));
+    }
+
+    private void put(String key, RoutePolicy policy, ServerHttpResponse response, byte[] body) {
+        if (isStorable(response, body)) {
+            store.put(key, new Entry(CachedResponse.of(response, body, clock.getAsLong()), policy));
+        }
+    }
+
+    private boolean isStorable(ServerHttpResponse response, byte[] body) {
+        if (!HttpStatus.OK.equals(response.getStatusCode()) || body.length > properties.maximumEntrySize().toBytes()) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            String lower = cacheControl.toLowerCase(Locale.ROOT);
+            // no-cache allows storing only if every reuse is revalidated, which this cache doesn't do
+            if (lower.contains(CacheControl.noStore().getHeaderValue())
+                    || lower.contains(CacheControl.noCache().getHeaderValue())
+                    || lower.contains("private")) {
+                return false;
+            }
+        }
+        return !headers.containsKey(HttpHeaders.SET_COOKIE);
+    }
+
+    private void record(String routeId, String result) {
+        lookups.increment();
+        if (!"miss".equals(result)) {
+            served.increment();
+        }
+        Counter.builder("gateway.cache.requests")
+                .description("Cacheable gateway requests by cache result")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private double hitRatio() {
+        long total = lookups.sum();
+        return total == 0 ? 0.0 : (double) served.sum() / total;
+    }
+
+    private record Entry(CachedResponse response, RoutePolicy policy) {
+    }
+
+    /**
+     * Keeps an entry for its TTL plus its stale window; refreshing an entry restarts the clock.
+     */
+    private static final class RetentionExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.policy().ttl().plus(entry.policy().staleWhileRevalidate()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Gives the background request its own attribute map, so routing state it sets does not leak
+     * into the exchange that was already answered from the cache.
+     */
+    private static final class BackgroundExchange extends ServerWebExchangeDecorator {
+
+        private final Map<String, Object> attributes;
+
+        private BackgroundExchange(ServerWebExchange delegate, Map<String, Object> attributes) {
+            super(delegate);
+            this.attributes = new ConcurrentHashMap<>(attributes);
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+    }
+}
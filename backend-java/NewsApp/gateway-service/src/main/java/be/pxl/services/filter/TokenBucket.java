@@ -0,0 +1,39 @@
+package be.pxl.services.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count it stores the moment the bucket will be full again,
+ * so taking a token is a single compare-and-set on one {@code long}.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int replenishRate, int burstCapacity, long nowNanos) {
+        this.nanosPerToken = 1_000_000_000L / replenishRate;
+        this.burstNanos = nanosPerToken * burstCapacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 when the token was granted, otherwise the nanoseconds until the next token becomes available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return debt - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
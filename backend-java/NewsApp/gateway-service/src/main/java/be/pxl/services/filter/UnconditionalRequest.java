@@ -0,0 +1,28 @@
+package be.pxl.services.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+
+/**
+ * A request without {@code If-None-Match} and {@code If-Modified-Since}, for calls whose response is shared.
+ * The headers are copied: mutating the request would strip them from the original caller's headers as well.
+ */
+final class UnconditionalRequest extends ServerHttpRequestDecorator {
+
+    private final HttpHeaders headers;
+
+    UnconditionalRequest(ServerHttpRequest delegate) {
+        super(delegate);
+        HttpHeaders copy = new HttpHeaders();
+        copy.addAll(delegate.getHeaders());
+        copy.remove(HttpHeaders.IF_NONE_MATCH);
+        copy.remove(HttpHeaders.IF_MODIFIED_SINCE);
+        this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
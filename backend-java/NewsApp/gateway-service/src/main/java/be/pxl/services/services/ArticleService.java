@@ -0,0 +1,115 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.ArticleProperties;
+import be.pxl.services.domain.dto.ArticleResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds an article from post-service and comment-service. The three calls run concurrently, each with its
+ * own timeout; only the post is required, comments and the count are dropped when they fail or are late.
+ */
+@Service
+@EnableConfigurationProperties(ArticleProperties.class)
+@Slf4j
+public class ArticleService implements IArticleService {
+
+    static final String COMMENTS = "comments";
+    static final String COMMENT_COUNT = "commentCount";
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final WebClient webClient;
+    private final ArticleProperties properties;
+
+    public ArticleService(WebClient.Builder loadBalancedWebClientBuilder, ArticleProperties properties) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<ArticleResponse> getArticle(Long postId, String role) {
+        return Mono.zip(fetchPost(postId, role), fetchComments(postId), fetchCommentCount(postId))
+                .map(legs -> {
+                    List<String> unavailable = new ArrayList<>();
+                    CommentsPage comments = legs.getT2().orElse(null);
+                    Long count = legs.getT3().orElse(null);
+                    if (comments == null) {
+                        unavailable.add(COMMENTS);
+                    }
+                    if (count == null) {
+                        unavailable.add(COMMENT_COUNT);
+                    }
+                    return new ArticleResponse(legs.getT1(),
+                            comments != null ? comments.comments() : null,
+                            comments != null ? comments.nextCursor() : null,
+                            count, unavailable);
+                });
+    }
+
+    private Mono<JsonNode> fetchPost(Long postId, String role) {
+        return webClient.get()
+                .uri("http://post-service/api/post/{postId}", postId)
+                .header("X-Role", role)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(properties.postTimeout())
+                .onErrorMap(ex -> !(ex instanceof ResponseStatusException), ex -> postFailure(postId, ex));
+    }
+
+    private Mono<Optional<CommentsPage>> fetchComments(Long postId) {
+        return webClient.get()
+                .uri("http://comment-service/api/comment/post/{postId}?size={size}", postId, properties.commentsPageSize())
+                .retrieve()
+                .toEntityList(JsonNode.class)
+                .map(entity -> Optional.of(new CommentsPage(entity.getBody(), entity.getHeaders().getFirst(NEXT_CURSOR_HEADER))))
+                .timeout(properties.commentsTimeout())
+                .onErrorResume(ex -> degraded(COMMENTS, postId, ex));
+    }
+
+    private Mono<Optional<Long>> fetchCommentCount(Long postId) {
+        return webClient.get()
+                .uri("http://comment-service/api/comment/counts?postIds={postId}", postId)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Long>>() {})
+                .map(counts -> Optional.of(counts.getOrDefault(String.valueOf(postId), 0L)))
+                .timeout(properties.countTimeout())
+                .onErrorResume(ex -> degraded(COMMENT_COUNT, postId, ex));
+    }
+
+    private static ResponseStatusException postFailure(Long postId, Throwable ex) {
+        if (ex instanceof WebClientResponseException response
+                && (response.getStatusCode().value() == 404 || response.getStatusCode().value() == 403)) {
+            return new ResponseStatusException(response.getStatusCode(), "Post with id " + postId + " is not available");
+        }
+        if (ex instanceof TimeoutException) {
+            log.warn("Post {} did not arrive within the article timeout", postId);
+            return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "post-service did not respond in time");
+        }
+        log.warn("Fetching post {} for article failed: {}", postId, ex.getMessage());
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "post-service is unavailable");
+    }
+
+    private static <T> Mono<Optional<T>> degraded(String part, Long postId, Throwable ex) {
+        log.warn("Serving article {} without {}: {}", postId, part,
+                ex instanceof TimeoutException ? "timed out" : ex.getMessage());
+        return Mono.just(Optional.empty());
+    }
+
+    private record CommentsPage(List<JsonNode> comments, String nextCursor) {
+    }
+}
@@ -0,0 +1,9 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.dto.ArticleResponse;
+import reactor.core.publisher.Mono;
+
+public interface IArticleService {
+
+    Mono<ArticleResponse> getArticle(Long postId, String role);
+}
@@ -0,0 +1,87 @@
+package be.pxl.services;
+
+import be.pxl.services.accesslog.AccessLogEntry;
+import be.pxl.services.accesslog.AccessLogWriter;
+import be.pxl.services.config.AccessLogProperties;
+import be.pxl.services.filter.AccessLogFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+@ExtendWith(MockitoExtension.class)
+public class AccessLogFilterUnitTest {
+
+    @Mock
+    private AccessLogWriter writer;
+
+    private MeterRegistry meterRegistry;
+
+    private final GatewayFilterChain backend = exchange -> {
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("http://10.0.0.3:8081/api/post/1"));
+        exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void recordsLatencyAndSubmitsEntry() {
+        AccessLogFilter filter = new AccessLogFilter(new AccessLogProperties(true, 1.0, 16, null), writer, meterRegistry);
+
+        filter.filter(exchange(), backend).block();
+
+        ArgumentCaptor<AccessLogEntry> entry = ArgumentCaptor.forClass(AccessLogEntry.class);
+        verify(writer).submit(entry.capture());
+        assertEquals("GET", entry.getValue().method());
+        assertEquals("post-service", entry.getValue().routeId());
+        assertEquals(404, entry.getValue().status());
+        assertEquals("10.0.0.3:8081", entry.getValue().upstream());
+        Timer timer = meterRegistry.get("gateway.route.latency").tag("route", "post-service").timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    public void stillRecordsLatencyForUnsampledRequests() {
+        AccessLogFilter filter = new AccessLogFilter(new AccessLogProperties(true, 0.0, 16, null), writer, meterRegistry);
+
+        filter.filter(exchange(), backend).block();
+
+        verify(writer, never()).submit(any());
+        assertEquals(1, meterRegistry.get("gateway.route.latency").timer().count());
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/post/api/post/1"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+                .id("post-service")
+                .uri("lb://post-service")
+                .predicate((ServerWebExchange ignored) -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,76 @@
+package be.pxl.services;
+
+import be.pxl.services.accesslog.AccessLogEntry;
+import be.pxl.services.accesslog.AccessLogRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AccessLogRingUnitTest {
+
+    @Test
+    public void drainsEntriesInOrder() {
+        AccessLogRing ring = new AccessLogRing(4);
+        ring.offer(entry(1));
+        ring.offer(entry(2));
+        List<AccessLogEntry> drained = new ArrayList<>();
+
+        assertEquals(2, ring.drain(drained::add));
+
+        assertEquals(List.of(entry(1), entry(2)), drained);
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    public void dropsEntriesWhenFull() {
+        AccessLogRing ring = new AccessLogRing(3);
+        assertEquals(4, ring.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(entry(i)));
+        }
+
+        assertFalse(ring.offer(entry(4)));
+        assertEquals(1, ring.dropped());
+
+        ring.drain(entry -> { });
+        assertTrue(ring.offer(entry(5)));
+    }
+
+    @Test
+    public void acceptsEntriesFromManyProducers() throws InterruptedException {
+        AccessLogRing ring = new AccessLogRing(1 << 16);
+        int producers = 8;
+        int perProducer = 5_000;
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    ring.offer(entry(i));
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        int[] drained = new int[1];
+        ring.drain(entry -> drained[0]++);
+
+        assertEquals(producers * perProducer, drained[0]);
+        assertEquals(0, ring.dropped());
+    }
+
+    private static AccessLogEntry entry(int status) {
+        return new AccessLogEntry(0, "GET", "post-service", status, "-", 0);
+    }
+}
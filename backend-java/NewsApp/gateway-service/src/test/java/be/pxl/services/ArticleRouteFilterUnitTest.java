@@ -0,0 +1,81 @@
+package be.pxl.services;
+
+import be.pxl.services.accesslog.AccessLogWriter;
+import be.pxl.services.config.AccessLogProperties;
+import be.pxl.services.config.RateLimitProperties;
+import be.pxl.services.config.RateLimitProperties.RouteLimit;
+import be.pxl.services.filter.AccessLogFilter;
+import be.pxl.services.filter.ArticleRouteFilter;
+import be.pxl.services.filter.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleRouteFilterUnitTest {
+
+    @Mock
+    private AccessLogWriter writer;
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private final WebFilterChain controller = exchange -> {
+        handled.incrementAndGet();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+    };
+    private MeterRegistry meterRegistry;
+    private ArticleRouteFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(new RateLimitProperties(Duration.ofMinutes(1), 1000L, null, null,
+                Map.of(ArticleRouteFilter.ROUTE_ID, new RouteLimit(1, 2))), meterRegistry, () -> 0L);
+        AccessLogFilter accessLogFilter = new AccessLogFilter(new AccessLogProperties(false, 1.0, 16, null), writer, meterRegistry);
+        filter = new ArticleRouteFilter(accessLogFilter, rateLimitFilter);
+    }
+
+    @Test
+    public void limitsAndTimesArticleRequestsUnderTheirOwnRoute() {
+        send("/article/1");
+        send("/article/2");
+        MockServerWebExchange rejected = send("/article/3");
+
+        assertEquals(2, handled.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals(1.0, meterRegistry.get("gateway.rate.limit.rejected").tag("route", "article").counter().count());
+        assertEquals(3, meterRegistry.get("gateway.route.latency").tag("route", "article").timer().count());
+    }
+
+    @Test
+    public void leavesOtherRequestsToTheGatewayRoutes() {
+        MockServerWebExchange exchange = send("/post/api/post/1");
+
+        assertEquals(1, handled.get());
+        assertNull(exchange.getAttribute(GATEWAY_ROUTE_ATTR));
+        assertEquals(0, meterRegistry.find("gateway.route.latency").timers().size());
+    }
+
+    private MockServerWebExchange send(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).header("X-User", "alice"));
+        filter.filter(exchange, controller).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,97 @@
+package be.pxl.services;
+
+import be.pxl.services.config.ArticleProperties;
+import be.pxl.services.domain.dto.ArticleResponse;
+import be.pxl.services.services.ArticleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArticleServiceUnitTest {
+
+    private static final ArticleProperties PROPERTIES =
+            new ArticleProperties(Duration.ofMillis(500), Duration.ofMillis(200), Duration.ofMillis(200), 20);
+
+    @Test
+    public void mergesPostCommentsAndCount() {
+        ArticleService service = service(request -> switch (request.url().getPath()) {
+            case "/api/post/7" -> json("{\"id\":7,\"title\":\"Launch\"}");
+            case "/api/comment/post/7" -> json("[{\"id\":1},{\"id\":2}]").map(response ->
+                    response.mutate().header("X-Next-Cursor", "abc").build());
+            case "/api/comment/counts" -> json("{\"7\":12}");
+            default -> Mono.error(new IllegalStateException(request.url().toString()));
+        });
+
+        ArticleResponse article = service.getArticle(7L, "user").block();
+
+        assertEquals("Launch", article.post().get("title").asText());
+        assertEquals(2, article.comments().size());
+        assertEquals("abc", article.nextCommentsCursor());
+        assertEquals(12L, article.commentCount());
+        assertTrue(article.unavailable().isEmpty());
+    }
+
+    @Test
+    public void leavesOutSlowAndFailingParts() {
+        ArticleService service = service(request -> switch (request.url().getPath()) {
+            case "/api/post/7" -> json("{\"id\":7}");
+            case "/api/comment/post/7" -> json("[]").delayElement(Duration.ofSeconds(5));
+            default -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        });
+
+        ArticleResponse article = service.getArticle(7L, "user").block();
+
+        assertEquals(7, article.post().get("id").asInt());
+        assertNull(article.comments());
+        assertNull(article.commentCount());
+        assertEquals(List.of("comments", "commentCount"), article.unavailable());
+    }
+
+    @Test
+    public void failsWhenPostIsNotFound() {
+        ArticleService service = service(request -> request.url().getPath().startsWith("/api/post")
+                ? Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build())
+                : json("[]"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.getArticle(7L, "user").block());
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    public void failsWithGatewayTimeoutWhenPostIsLate() {
+        ArticleService service = service(request -> request.url().getPath().startsWith("/api/post")
+                ? json("{}").delayElement(Duration.ofSeconds(5))
+                : json("{}"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.getArticle(7L, "user").block());
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, ex.getStatusCode());
+    }
+
+    private static ArticleService service(ExchangeFunction backends) {
+        return new ArticleService(WebClient.builder().exchangeFunction(backends), PROPERTIES);
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
@@ -0,0 +1,159 @@
+package be.pxl.services;
+
+import be.pxl.services.config.RateLimitProperties;
+import be.pxl.services.config.RateLimitProperties.RouteLimit;
+import be.pxl.services.filter.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class RateLimitFilterUnitTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain backend = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+    private MeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties properties = new RateLimitProperties(Duration.ofMinutes(1), 1000L, 2, null,
+                Map.of("post-service", new RouteLimit(2, 3)));
+        filter = new RateLimitFilter(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    public void rejectsRequestsBeyondBurstCapacityWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            assertNull(send("post-service", "alice").getResponse().getStatusCode());
+        }
+        MockServerWebExchange rejected = send("post-service", "alice");
+
+        assertEquals(3, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("gateway.rate.limit.rejected").counter().count());
+    }
+
+    @Test
+    public void refillsTokensOverTime() {
+        for (int i = 0; i < 3; i++) {
+            send("post-service", "alice");
+        }
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+
+        send("post-service", "alice");
+        MockServerWebExchange rejected = send("post-service", "alice");
+
+        assertEquals(4, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void limitsEachUserSeparatelyAndFallsBackToClientAddress() {
+        for (int i = 0; i < 3; i++) {
+            send("post-service", "alice");
+        }
+        send("post-service", "bob");
+        send("post-service", null);
+
+        assertEquals(5, forwarded.get());
+    }
+
+    @Test
+    public void doesNotLimitRoutesWithoutConfiguration() {
+        for (int i = 0; i < 10; i++) {
+            send("review-service", "alice");
+        }
+
+        assertEquals(10, forwarded.get());
+    }
+
+    @Test
+    public void limitsDiscoveryLocatorRoutesLikeTheConfiguredRouteToTheSameService() {
+        for (int i = 0; i < 3; i++) {
+            send("post-service", "alice");
+        }
+        MockServerWebExchange rejected = send("ReactiveCompositeDiscoveryClient_POST-SERVICE", "lb://POST-SERVICE", "alice");
+
+        assertEquals(3, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void appliesTheDefaultLimitToRoutesWithoutConfiguration() {
+        filter = new RateLimitFilter(new RateLimitProperties(Duration.ofMinutes(1), 1000L, 2, new RouteLimit(1, 2), Map.of()),
+                meterRegistry, now::get);
+
+        for (int i = 0; i < 5; i++) {
+            send("review-service", "alice");
+        }
+
+        assertEquals(2, forwarded.get());
+    }
+
+    @Test
+    public void limitsTheAddressWhenTheUserHeaderChangesOnEveryRequest() {
+        for (int i = 0; i < 10; i++) {
+            send("post-service", "user-" + i);
+        }
+
+        // address-factor 2 times a burst of 3
+        assertEquals(6, forwarded.get());
+    }
+
+    @Test
+    public void dropsIdleBuckets() {
+        send("post-service", "alice");
+        // alice's bucket and the one for her address
+        assertEquals(2.0, meterRegistry.get("gateway.rate.limit.buckets").gauge().value());
+
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        send("post-service", "bob");
+
+        assertEquals(2.0, meterRegistry.get("gateway.rate.limit.buckets").gauge().value(), 0.0);
+    }
+
+    private MockServerWebExchange send(String routeId, String user) {
+        return send(routeId, "lb://" + routeId, user);
+    }
+
+    private MockServerWebExchange send(String routeId, String uri, String user) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/post/published")
+                .remoteAddress(new InetSocketAddress("10.0.0.7", 51000));
+        if (user != null) {
+            request.header("X-User", user);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri(uri)
+                .predicate((ServerWebExchange ignored) -> true)
+                .build());
+        filter.filter(exchange, backend).block();
+        return exchange;
+    }
+}
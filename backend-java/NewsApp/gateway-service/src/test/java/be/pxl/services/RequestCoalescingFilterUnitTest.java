@@ -0,0 +1,150 @@
+package be.pxl.services;
+
+import be.pxl.services.config.CoalescingProperties;
+import be.pxl.services.filter.RequestCoalescingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class RequestCoalescingFilterUnitTest {
+
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> backendDone = Sinks.empty();
+    private MeterRegistry meterRegistry;
+
+    // Holds every backend call open until backendDone completes, so requests overlap
+    private final GatewayFilterChain backend = exchange -> {
+        int call = backendCalls.incrementAndGet();
+        return backendDone.asMono().then(Mono.defer(() -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(("post-" + call).getBytes(StandardCharsets.UTF_8))));
+        }));
+    };
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void forwardsOneOfSeveralIdenticalRequests() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(new CoalescingProperties(true, 100), meterRegistry);
+        List<MockServerWebExchange> exchanges = List.of(
+                exchange(MockServerHttpRequest.get("/post/api/post/1")),
+                exchange(MockServerHttpRequest.get("/post/api/post/1")),
+                exchange(MockServerHttpRequest.get("/post/api/post/1")));
+
+        List<Mono<Void>> pending = exchanges.stream().map(exchange -> filter.filter(exchange, backend).toFuture())
+                .map(Mono::fromFuture).toList();
+        backendDone.tryEmitEmpty();
+        Mono.when(pending).block();
+
+        assertEquals(1, backendCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals("post-1", exchange.getResponse().getBodyAsString().block());
+        }
+        assertEquals(2.0, meterRegistry.get("gateway.coalescing.collapsed").counter().count());
+        assertEquals(0.0, meterRegistry.get("gateway.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    public void answersEachCallersOwnConditionalRequest() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(new CoalescingProperties(true, 100), meterRegistry);
+        // Answers 304 to a conditional request the way the backends do
+        GatewayFilterChain etagBackend = exchange -> {
+            backendCalls.incrementAndGet();
+            return backendDone.asMono().then(Mono.defer(() -> {
+                exchange.getResponse().getHeaders().setETag("\"v1\"");
+                if (exchange.getRequest().getHeaders().getIfNoneMatch().contains("\"v1\"")) {
+                    exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return exchange.getResponse().setComplete();
+                }
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                        .wrap("post-1".getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+        MockServerWebExchange current = exchange(MockServerHttpRequest.get("/post/api/post/1").ifNoneMatch("\"v1\""));
+        MockServerWebExchange unconditional = exchange(MockServerHttpRequest.get("/post/api/post/1"));
+        MockServerWebExchange outdated = exchange(MockServerHttpRequest.get("/post/api/post/1").ifNoneMatch("\"v0\""));
+
+        List<Mono<Void>> pending = List.of(current, unconditional, outdated).stream()
+                .map(exchange -> Mono.fromFuture(filter.filter(exchange, etagBackend).toFuture())).toList();
+        backendDone.tryEmitEmpty();
+        Mono.when(pending).block();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, current.getResponse().getStatusCode());
+        assertEquals("\"v1\"", current.getResponse().getHeaders().getETag());
+        assertEquals(HttpStatus.OK, unconditional.getResponse().getStatusCode());
+        assertEquals("post-1", unconditional.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, outdated.getResponse().getStatusCode());
+        assertEquals("post-1", outdated.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    public void forwardsRequestsForDifferentRolesSeparately() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(new CoalescingProperties(true, 100), meterRegistry);
+
+        Mono<Void> anonymous = Mono.fromFuture(filter.filter(exchange(MockServerHttpRequest.get("/post/api/post/1")), backend).toFuture());
+        Mono<Void> editor = Mono.fromFuture(filter.filter(exchange(MockServerHttpRequest.get("/post/api/post/1")
+                .header("X-Role", "editor")), backend).toFuture());
+        backendDone.tryEmitEmpty();
+        Mono.when(anonymous, editor).block();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    public void doesNotCoalesceStreamingRequests() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(new CoalescingProperties(true, 100), meterRegistry);
+        backendDone.tryEmitEmpty();
+
+        filter.filter(exchange(MockServerHttpRequest.get("/post/api/post/editor").accept(MediaType.APPLICATION_NDJSON)), backend).block();
+
+        assertEquals(0, meterRegistry.get("gateway.coalescing.in.flight").gauge().value());
+        assertEquals(1, backendCalls.get());
+    }
+
+    @Test
+    public void bypassesCoalescingWhenInFlightTableIsFull() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(new CoalescingProperties(true, 1), meterRegistry);
+
+        Mono<Void> first = Mono.fromFuture(filter.filter(exchange(MockServerHttpRequest.get("/post/api/post/1")), backend).toFuture());
+        Mono<Void> second = Mono.fromFuture(filter.filter(exchange(MockServerHttpRequest.get("/post/api/post/2")), backend).toFuture());
+        Mono<Void> third = Mono.fromFuture(filter.filter(exchange(MockServerHttpRequest.get("/post/api/post/2")), backend).toFuture());
+        backendDone.tryEmitEmpty();
+        Mono.when(first, second, third).block();
+
+        assertEquals(3, backendCalls.get());
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async()
+                .id("post-service")
+                .uri("lb://post-service")
+                .predicate((ServerWebExchange ignored) -> true)
+                .build());
+        return exchange;
+    }
+}
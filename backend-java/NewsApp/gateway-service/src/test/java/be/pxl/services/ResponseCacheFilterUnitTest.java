@@ -0,0 +1,207 @@
+package be.pxl.services;
+
+import be.pxl.services.config.ResponseCacheProperties;
+import be.pxl.services.config.ResponseCacheProperties.RoutePolicy;
+import be.pxl.services.filter.ResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class ResponseCacheFilterUnitTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private ResponseCacheFilter filter;
+
+    private final GatewayFilterChain backend = exchange -> {
+        int call = backendCalls.incrementAndGet();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        exchange.getResponse().getHeaders().setETag("\"" + call + "\"");
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                .wrap(("body-" + call).getBytes(StandardCharsets.UTF_8))));
+    };
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ResponseCacheProperties properties = new ResponseCacheProperties(DataSize.ofMegabytes(1), null,
+                Map.of("post-service", new RoutePolicy(Duration.ofSeconds(5), Duration.ofSeconds(30),
+                        List.of("/post/api/post/editor/**"))));
+        filter = new ResponseCacheFilter(properties, meterRegistry, now::get);
+    }
+
+    @Test
+    public void servesRepeatedRequestFromCache() {
+        MockServerWebExchange first = exchange("post-service", MockServerHttpRequest.get("/post/api/post/published"));
+        MockServerWebExchange second = exchange("post-service", MockServerHttpRequest.get("/post/api/post/published"));
+
+        filter.filter(first, backend).block();
+        filter.filter(second, backend).block();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("body-1", second.getResponse().getBodyAsString().block());
+        assertEquals(0.5, meterRegistry.get("gateway.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    public void keysOnNormalizedRoleAndQuery() {
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/published")
+                .header("X-Role", "Editor")), backend).block();
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/published")
+                .header("X-Role", " editor ")), backend).block();
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/published")), backend).block();
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/published?page=2")), backend).block();
+
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    public void servesStaleEntryAndRefreshesItInTheBackground() {
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/1")), backend).block();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        MockServerWebExchange stale = exchange("post-service", MockServerHttpRequest.get("/post/api/post/1"));
+        filter.filter(stale, backend).block();
+        MockServerWebExchange refreshed = exchange("post-service", MockServerHttpRequest.get("/post/api/post/1"));
+        filter.filter(refreshed, backend).block();
+
+        assertEquals(2, backendCalls.get());
+        assertEquals("STALE", stale.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("body-1", stale.getResponse().getBodyAsString().block());
+        assertEquals("HIT", refreshed.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("body-2", refreshed.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    public void answersConditionalRequestForStaleEntryWithNotModified() {
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/1")), backend).block();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        MockServerWebExchange conditional = exchange("post-service", MockServerHttpRequest.get("/post/api/post/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+        filter.filter(conditional, backend).block();
+
+        assertEquals(2, backendCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+    }
+
+    @Test
+    public void goesToBackendOnceStaleWindowHasPassed() {
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/1")), backend).block();
+        now.addAndGet(Duration.ofSeconds(40).toNanos());
+
+        MockServerWebExchange expired = exchange("post-service", MockServerHttpRequest.get("/post/api/post/1"));
+        filter.filter(expired, backend).block();
+
+        assertEquals(2, backendCalls.get());
+        assertEquals("MISS", expired.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    public void answersConditionalRequestWithNotModified() {
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/1")), backend).block();
+
+        MockServerWebExchange conditional = exchange("post-service", MockServerHttpRequest.get("/post/api/post/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\""));
+        filter.filter(conditional, backend).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(1, backendCalls.get());
+    }
+
+    @Test
+    public void ignoresRoutesWithoutCachePolicy() {
+        filter.filter(exchange("review-service", MockServerHttpRequest.get("/review/api/review")), backend).block();
+        filter.filter(exchange("review-service", MockServerHttpRequest.get("/review/api/review")), backend).block();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    public void doesNotStoreNonSuccessfulResponses() {
+        GatewayFilterChain notFound = exchange -> {
+            backendCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        };
+
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/9")), notFound).block();
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/9")), notFound).block();
+
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    public void doesNotStoreNoCacheResponses() {
+        GatewayFilterChain noCache = exchange -> {
+            int call = backendCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setETag("\"" + call + "\"");
+            exchange.getResponse().getHeaders().setCacheControl(CacheControl.noCache());
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                    .wrap(("feed-" + call).getBytes(StandardCharsets.UTF_8))));
+        };
+
+        filter.filter(exchange("post-service", MockServerHttpRequest.get("/post/api/post/published")), noCache).block();
+        MockServerWebExchange second = exchange("post-service", MockServerHttpRequest.get("/post/api/post/published"));
+        filter.filter(second, noCache).block();
+
+        assertEquals(2, backendCalls.get());
+        assertEquals("MISS", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("feed-2", second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    public void neverCachesExcludedPaths() {
+        MockServerWebExchange first = exchange("post-service", MockServerHttpRequest.get("/post/api/post/editor?status=PENDING")
+                .header("X-Role", "editor"));
+        MockServerWebExchange second = exchange("post-service", MockServerHttpRequest.get("/post/api/post/editor?status=PENDING")
+                .header("X-Role", "editor"));
+
+        filter.filter(first, backend).block();
+        filter.filter(second, backend).block();
+
+        assertEquals(2, backendCalls.get());
+        assertEquals("body-2", second.getResponse().getBodyAsString().block());
+        assertNull(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+    }
+
+    private static MockServerWebExchange exchange(String routeId, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route(routeId));
+        return exchange;
+    }
+
+    private static Route route(String id) {
+        return Route.async()
+                .id(id)
+                .uri("lb://" + id)
+                .predicate((ServerWebExchange exchange) -> true)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package be.pxl.services.idgeneration;
+
+/**
+ * Shared settings for entity ids. Entities use a pooled sequence instead of IDENTITY so Hibernate can batch inserts:
+ * <pre>
+ * &#64;Id
+ * &#64;GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+ * &#64;SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+ * private Long id;
+ * </pre>
+ * MySQL has no sequences, so Hibernate keeps each one in a single-row table.
+ */
+public final class IdGeneration {
+
+    /**
+     * Ids reserved per round trip to the sequence table, and the JDBC batch size used for inserts.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
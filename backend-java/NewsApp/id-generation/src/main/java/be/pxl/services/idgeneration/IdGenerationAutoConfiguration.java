@@ -0,0 +1,38 @@
+package be.pxl.services.idgeneration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Turns on JDBC batching for every service that depends on this module and keeps the id sequences ahead of
+ * ids that were handed out by AUTO_INCREMENT before the switch.
+ */
+@AutoConfiguration(after = {HibernateJpaAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@ConditionalOnClass(EntityManagerFactory.class)
+public class IdGenerationAutoConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer idGenerationHibernateProperties() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, IdGeneration.ALLOCATION_SIZE);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            // pooled-lo stores the first free id, which is what IdSequenceAligner writes
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        };
+    }
+
+    @Bean
+    @ConditionalOnBean({EntityManagerFactory.class, JdbcTemplate.class})
+    public IdSequenceAligner idSequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        return new IdSequenceAligner(entityManagerFactory, jdbcTemplate);
+    }
+}
@@ -0,0 +1,57 @@
+package be.pxl.services.idgeneration;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves every entity sequence past the highest id already in its table. Tables created before the move
+ * away from IDENTITY still hold AUTO_INCREMENT ids, and a fresh sequence would start handing those out again.
+ * Runs once at startup, after Hibernate updated the schema and before the web server accepts requests.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (SequenceMapping mapping : sequenceMappings()) {
+            // greatest() keeps the sequence where it is when it is already ahead, so concurrent starts are harmless
+            int updated = jdbcTemplate.update("update " + mapping.sequence() + " set next_val = greatest(next_val, "
+                    + "(select coalesce(max(" + mapping.idColumn() + "), 0) + 1 from " + mapping.table() + "))");
+            log.debug("Aligned sequence {} with {}.{} ({} rows)", mapping.sequence(), mapping.table(), mapping.idColumn(), updated);
+        }
+    }
+
+    /**
+     * Sequence, table and id column names as Hibernate renders them in SQL, i.e. after the physical naming strategy.
+     */
+    List<SequenceMapping> sequenceMappings() {
+        List<SequenceMapping> mappings = new ArrayList<>();
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister.getIdentifierMapping() instanceof BasicEntityIdentifierMapping id) {
+                mappings.add(new SequenceMapping(
+                        generator.getDatabaseStructure().getPhysicalName().render(),
+                        id.getContainingTableExpression(),
+                        id.getSelectionExpression()
+                ));
+            }
+        });
+        return mappings;
+    }
+
+    record SequenceMapping(String sequence, String table, String idColumn) { }
+}
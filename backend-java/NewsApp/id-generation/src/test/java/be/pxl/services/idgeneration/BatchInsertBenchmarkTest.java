@@ -0,0 +1,130 @@
+package be.pxl.services.idgeneration;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.function.Function;
+
+/**
+ * Insert throughput of IDENTITY ids against pooled sequences on MySQL, with the Hibernate settings
+ * {@link IdGenerationAutoConfiguration} applies and the {@code rewriteBatchedStatements} datasource flag.
+ * Run with {@code mvn test -Pbenchmark -pl id-generation}; needs Docker.
+ */
+@Tag("benchmark")
+@Slf4j
+@Testcontainers
+public class BatchInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+    private static final int ROUNDS = 3;
+
+    @Container
+    private static MySQLContainer<?> sqlContainer = new MySQLContainer<>("mysql:5.7.37");
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    public static void setup() {
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, sqlContainer.getJdbcUrl() + "?rewriteBatchedStatements=true")
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, sqlContainer.getUsername())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, sqlContainer.getPassword())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, IdGeneration.ALLOCATION_SIZE)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .applySetting(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .build())
+                .addAnnotatedClass(IdentityRow.class)
+                .addAnnotatedClass(SequencedRow.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void insert_IdentityAgainstPooledSequence() {
+        // first pass warms up the JIT and the connection pool
+        insert(IdentityRow::new);
+        insert(SequencedRow::new);
+
+        long identityNanos = Long.MAX_VALUE;
+        long sequenceNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            identityNanos = Math.min(identityNanos, insert(IdentityRow::new));
+            sequenceNanos = Math.min(sequenceNanos, insert(SequencedRow::new));
+        }
+
+        log.info("{} rows in transactions of {}: IDENTITY {} rows/s, pooled sequence {} rows/s",
+                ROWS, ROWS_PER_TRANSACTION, rowsPerSecond(identityNanos), rowsPerSecond(sequenceNanos));
+    }
+
+    private static long insert(Function<String, Object> row) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += ROWS_PER_TRANSACTION) {
+            int first = offset;
+            sessionFactory.inTransaction(session -> {
+                for (int i = first; i < first + ROWS_PER_TRANSACTION; i++) {
+                    session.persist(row.apply("row " + i));
+                }
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / nanos;
+    }
+
+    @Entity(name = "IdentityRow")
+    static class IdentityRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private String payload;
+
+        IdentityRow() {
+        }
+
+        IdentityRow(String payload) {
+            this.payload = payload;
+        }
+    }
+
+    @Entity(name = "SequencedRow")
+    static class SequencedRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequencedRowSeq")
+        @SequenceGenerator(name = "sequencedRowSeq", sequenceName = "sequencedRowSeq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+        private Long id;
+        private String payload;
+
+        SequencedRow() {
+        }
+
+        SequencedRow(String payload) {
+            this.payload = payload;
+        }
+    }
+}
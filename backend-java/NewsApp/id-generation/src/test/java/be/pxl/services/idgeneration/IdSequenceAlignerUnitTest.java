@@ -0,0 +1,76 @@
+package be.pxl.services.idgeneration;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class IdSequenceAlignerUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    public void setup() {
+        // the naming strategy Spring Boot configures by default; no database is needed to build the mapping model
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(SequencedEntity.class)
+                .addAnnotatedClass(AssignedIdEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void afterSingletonsInstantiated_ShouldMoveSequencePastExistingIds() {
+        new IdSequenceAligner(sessionFactory, jdbcTemplate).afterSingletonsInstantiated();
+
+        verify(jdbcTemplate).update("update thing_seq set next_val = greatest(next_val, "
+                + "(select coalesce(max(thing_id), 0) + 1 from sequenced_entity))");
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Entity(name = "SequencedEntity")
+    static class SequencedEntity {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "thingSeq")
+        @SequenceGenerator(name = "thingSeq", sequenceName = "thingSeq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+        private Long thingId;
+    }
+
+    @Entity(name = "AssignedIdEntity")
+    static class AssignedIdEntity {
+        @Id
+        private String key;
+    }
+}
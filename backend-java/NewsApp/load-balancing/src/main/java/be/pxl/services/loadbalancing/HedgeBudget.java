@@ -0,0 +1,38 @@
+package be.pxl.services.loadbalancing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests to a fraction of all hedgeable requests. Every request deposits {@code ratio} of a token,
+ * every hedge withdraws a whole one, so hedging cannot multiply load when everything is slow; the balance is capped
+ * at {@code burst} tokens so a quiet period does not save up for a storm.
+ */
+public class HedgeBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public HedgeBudget(double ratio, int burst) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.maxBalance = burst * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void deposit() {
+        balance.getAndUpdate(current -> Math.min(maxBalance, current + deposit));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
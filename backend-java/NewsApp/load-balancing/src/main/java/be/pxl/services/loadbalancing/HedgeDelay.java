@@ -0,0 +1,51 @@
+package be.pxl.services.loadbalancing;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * How long a hedged request waits for its first attempt before sending a second one: the configured percentile
+ * of the latest {@value #WINDOW} attempt latencies, kept between {@code minDelay} and {@code maxDelay}.
+ * Until enough latencies are known the delay is {@code maxDelay}.
+ */
+public class HedgeDelay {
+
+    private static final int WINDOW = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double percentile;
+    private final long minNanos;
+    private final long maxNanos;
+    private final long[] latencies = new long[WINDOW];
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long currentNanos;
+
+    public HedgeDelay(double percentile, Duration minDelay, Duration maxDelay) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Hedge percentile must be between 0 and 1, got " + percentile);
+        }
+        this.percentile = percentile;
+        this.minNanos = minDelay.toNanos();
+        this.maxNanos = Math.max(minNanos, maxDelay.toNanos());
+        this.currentNanos = maxNanos;
+    }
+
+    public Duration current() {
+        return Duration.ofNanos(currentNanos);
+    }
+
+    public synchronized void record(long latencyNanos) {
+        latencies[next] = latencyNanos;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+        if (++sinceRecompute >= RECOMPUTE_EVERY) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            long value = sorted[(int) Math.ceil(percentile * count) - 1];
+            currentNanos = Math.clamp(value, minNanos, maxNanos);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package be.pxl.services.loadbalancing;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+
+import java.util.List;
+
+/**
+ * Request context of the second attempt of a hedged request, naming the instance the first attempt went to.
+ */
+public class HedgeRequestContext extends RequestDataContext {
+
+    private final ServiceInstance excluded;
+
+    public HedgeRequestContext(RequestData requestData, ServiceInstance excluded) {
+        super(requestData);
+        this.excluded = excluded;
+    }
+
+    public boolean excludes(ServiceInstance instance) {
+        return InstanceLoadTracker.key(excluded).equals(InstanceLoadTracker.key(instance));
+    }
+
+    List<ServiceInstance> withoutExcluded(List<ServiceInstance> instances) {
+        return instances.stream().filter(instance -> !excludes(instance)).toList();
+    }
+}
@@ -0,0 +1,202 @@
+package be.pxl.services.loadbalancing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Hedged reads: the request goes to one instance, and if it has not answered within the {@link HedgeDelay}
+ * a second attempt goes to a different instance; whichever answers first wins and the other is cancelled.
+ * Only for idempotent requests. Hedges are paid for from the application-wide {@link HedgeBudget}, and a first
+ * attempt that fails before the delay is not retried.
+ * <p>
+ * Both attempts are reported to the service's {@link LoadBalancerLifecycle}s, so the peak-EWMA statistics see them.
+ * <p>
+ * Blocking clients cannot abort a call, so {@link #executeBlocking} does not cancel the losing attempt: it keeps its
+ * thread and connection until the call returns, and is only reported as complete then.
+ */
+@Slf4j
+public class HedgedRequests {
+
+    private final LoadBalancerClientFactory clientFactory;
+    private final HedgeBudget budget;
+    private final MeterRegistry meterRegistry;
+
+    public HedgedRequests(LoadBalancerClientFactory clientFactory, HedgeBudget budget, MeterRegistry meterRegistry) {
+        this.clientFactory = clientFactory;
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param attempt sends the request to the given instance; subscribed once, or twice when hedging
+     */
+    public <T> Mono<T> execute(String serviceId, RequestData requestData, HedgeDelay delay,
+                               Function<ServiceInstance, Mono<T>> attempt) {
+        return hedge(serviceId, requestData, delay,
+                (request, lbResponse, lifecycles) -> send(request, lbResponse, attempt, delay, lifecycles));
+    }
+
+    /**
+     * Like {@link #execute}, for a blocking call that runs on the bounded elastic scheduler. A losing attempt runs
+     * to the end and its result is dropped, so the call should not return anything that needs closing.
+     */
+    public <T> Mono<T> executeBlocking(String serviceId, RequestData requestData, HedgeDelay delay,
+                                       BlockingAttempt<T> attempt) {
+        return hedge(serviceId, requestData, delay,
+                (request, lbResponse, lifecycles) -> sendBlocking(request, lbResponse, attempt, delay, lifecycles));
+    }
+
+    private <T> Mono<T> hedge(String serviceId, RequestData requestData, HedgeDelay delay, Sender<T> sender) {
+        return Mono.defer(() -> {
+            ReactiveLoadBalancer<ServiceInstance> loadBalancer = clientFactory.getInstance(serviceId);
+            if (loadBalancer == null) {
+                return Mono.error(noInstance(serviceId));
+            }
+            Set<LoadBalancerLifecycle> lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                    clientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+                    RequestDataContext.class, Object.class, ServiceInstance.class);
+            budget.deposit();
+
+            Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext(requestData));
+            return choose(loadBalancer, request, lifecycles).flatMap(primary -> {
+                if (!primary.hasServer()) {
+                    return Mono.error(noInstance(serviceId));
+                }
+
+                AtomicBoolean firstDone = new AtomicBoolean();
+                Sinks.Empty<Void> firstTerminated = Sinks.empty();
+                AtomicReference<Throwable> firstError = new AtomicReference<>();
+                Mono<T> first = sender.send(request, primary, lifecycles)
+                        .doOnError(firstError::set)
+                        .doFinally(signal -> {
+                            firstDone.set(true);
+                            firstTerminated.tryEmitEmpty();
+                        });
+
+                Request<RequestDataContext> hedgeRequest = new DefaultRequest<>(new HedgeRequestContext(requestData, primary.getServer()));
+                // Stops waiting once the first attempt is over, so its error is not held back for the rest of the delay
+                Mono<T> hedge = Mono.delay(delay.current())
+                        .takeUntilOther(firstTerminated.asMono())
+                        .filter(tick -> !firstDone.get())
+                        .flatMap(tick -> choose(loadBalancer, hedgeRequest, lifecycles))
+                        .filter(response -> response.hasServer() && !((HedgeRequestContext) hedgeRequest.getContext()).excludes(response.getServer()))
+                        .filter(response -> withdraw(serviceId))
+                        .flatMap(response -> sender.send(hedgeRequest, response, lifecycles))
+                        .doOnNext(value -> count(serviceId, "won"));
+
+                // firstWithValue only fails once every attempt has; report the first attempt's error, not the composite
+                return Mono.firstWithValue(first, hedge)
+                        .onErrorMap(NoSuchElementException.class, e -> firstError.get() != null ? firstError.get() : e);
+            });
+        });
+    }
+
+    private boolean withdraw(String serviceId) {
+        if (!budget.tryWithdraw()) {
+            count(serviceId, "throttled");
+            return false;
+        }
+        count(serviceId, "sent");
+        return true;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Mono<Response<ServiceInstance>> choose(ReactiveLoadBalancer<ServiceInstance> loadBalancer,
+                                                   Request<RequestDataContext> request, Set<LoadBalancerLifecycle> lifecycles) {
+        return Mono.defer(() -> {
+            lifecycles.forEach(lifecycle -> lifecycle.onStart(request));
+            return Mono.from(loadBalancer.choose(request));
+        }).doOnNext(response -> {
+            if (!response.hasServer()) {
+                lifecycles.forEach(lifecycle -> lifecycle.onComplete(
+                        new CompletionContext(CompletionContext.Status.DISCARD, request, response)));
+            }
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private <T> Mono<T> send(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse,
+                             Function<ServiceInstance, Mono<T>> attempt, HedgeDelay delay, Set<LoadBalancerLifecycle> lifecycles) {
+        return Mono.defer(() -> {
+            lifecycles.forEach(lifecycle -> lifecycle.onStartRequest(request, lbResponse));
+            return reported(attempt.apply(lbResponse.getServer()), request, lbResponse, delay, lifecycles)
+                    .doOnCancel(() -> lifecycles.forEach(lifecycle -> lifecycle.onComplete(
+                            new CompletionContext(CompletionContext.Status.DISCARD, request, lbResponse))));
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private <T> Mono<T> sendBlocking(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse,
+                                     BlockingAttempt<T> attempt, HedgeDelay delay, Set<LoadBalancerLifecycle> lifecycles) {
+        return Mono.defer(() -> {
+            lifecycles.forEach(lifecycle -> lifecycle.onStartRequest(request, lbResponse));
+            // Subscribed on its own so cancelling the attempt only stops waiting for it; the call stays in flight
+            CompletableFuture<T> call = reported(Mono.fromCallable(() -> attempt.call(lbResponse.getServer())),
+                    request, lbResponse, delay, lifecycles)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .toFuture();
+            return Mono.fromFuture(call, true);
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static <T> Mono<T> reported(Mono<T> call, Request<RequestDataContext> request, Response<ServiceInstance> lbResponse,
+                                        HedgeDelay delay, Set<LoadBalancerLifecycle> lifecycles) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> {
+                        delay.record(System.nanoTime() - start);
+                        lifecycles.forEach(lifecycle -> lifecycle.onComplete(
+                                new CompletionContext(CompletionContext.Status.SUCCESS, request, lbResponse, value)));
+                    })
+                    .doOnError(throwable -> lifecycles.forEach(lifecycle -> lifecycle.onComplete(
+                            new CompletionContext(CompletionContext.Status.FAILED, throwable, request, lbResponse))));
+        });
+    }
+
+    private void count(String serviceId, String result) {
+        meterRegistry.counter("loadbalancing.hedges", "service", serviceId, "result", result).increment();
+    }
+
+    private static ResponseStatusException noInstance(String serviceId) {
+        log.warn("No instances available for service: {}", serviceId);
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No instances available for " + serviceId);
+    }
+
+    /**
+     * A blocking call to the given instance.
+     */
+    @FunctionalInterface
+    public interface BlockingAttempt<T> {
+        T call(ServiceInstance instance) throws Exception;
+    }
+
+    private interface Sender<T> {
+        Mono<T> send(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse,
+                     Set<LoadBalancerLifecycle> lifecycles);
+    }
+}
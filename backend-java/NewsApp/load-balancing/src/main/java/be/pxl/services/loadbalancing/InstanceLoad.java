@@ -0,0 +1,51 @@
+package be.pxl.services.loadbalancing;
+
+/**
+ * Load estimate for one service instance: a peak-sensitive, time-decayed moving average of its latency
+ * multiplied by the number of requests it is currently handling.
+ * A latency sample above the average replaces it immediately, lower samples are blended in, and the average
+ * decays towards zero while the instance gets no traffic so that a slow instance is eventually retried.
+ */
+final class InstanceLoad {
+
+    // Cost of an instance that has requests in flight but no latency sample yet, so it is not flooded
+    private static final double PENALTY = (double) (Long.MAX_VALUE >> 16);
+
+    private final double decayNanos;
+    private double ewmaNanos;
+    private long stampNanos;
+    private int outstanding;
+
+    InstanceLoad(long decayNanos, long nowNanos) {
+        this.decayNanos = decayNanos;
+        this.stampNanos = nowNanos;
+    }
+
+    synchronized void started() {
+        outstanding++;
+    }
+
+    synchronized void finished(long latencyNanos, long nowNanos) {
+        outstanding = Math.max(0, outstanding - 1);
+        observe(latencyNanos, nowNanos);
+    }
+
+    synchronized double cost(long nowNanos) {
+        observe(0, nowNanos);
+        if (ewmaNanos == 0 && outstanding != 0) {
+            return PENALTY + outstanding;
+        }
+        return ewmaNanos * (outstanding + 1);
+    }
+
+    synchronized int outstanding() {
+        return outstanding;
+    }
+
+    private void observe(double latencyNanos, long nowNanos) {
+        long elapsed = Math.max(nowNanos - stampNanos, 0);
+        stampNanos = Math.max(nowNanos, stampNanos);
+        double weight = Math.exp(-elapsed / decayNanos);
+        ewmaNanos = latencyNanos > ewmaNanos ? latencyNanos : ewmaNanos * weight + latencyNanos * (1.0 - weight);
+    }
+}
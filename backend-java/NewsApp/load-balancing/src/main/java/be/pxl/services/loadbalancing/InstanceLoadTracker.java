@@ -0,0 +1,63 @@
+package be.pxl.services.loadbalancing;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link InstanceLoad} of every known instance of one service. Shared by the load balancer, which reads it,
+ * and {@link PeakEwmaLifecycle}, which feeds it.
+ */
+public class InstanceLoadTracker {
+
+    private final long decayNanos;
+    private final LongSupplier clock;
+    private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+
+    public InstanceLoadTracker(long decayNanos, LongSupplier clock) {
+        this.decayNanos = decayNanos;
+        this.clock = clock;
+    }
+
+    public void started(ServiceInstance instance) {
+        load(instance).started();
+    }
+
+    public void finished(ServiceInstance instance, long latencyNanos) {
+        load(instance).finished(latencyNanos, clock.getAsLong());
+    }
+
+    public double cost(ServiceInstance instance) {
+        return load(instance).cost(clock.getAsLong());
+    }
+
+    public int outstanding(ServiceInstance instance) {
+        return load(instance).outstanding();
+    }
+
+    /**
+     * Forgets instances that are no longer registered, so the map does not grow with every redeploy.
+     */
+    void retain(List<ServiceInstance> instances) {
+        if (loads.size() <= instances.size()) {
+            return;
+        }
+        Set<String> current = instances.stream().map(InstanceLoadTracker::key).collect(Collectors.toSet());
+        loads.keySet().retainAll(current);
+    }
+
+    private InstanceLoad load(ServiceInstance instance) {
+        return loads.computeIfAbsent(key(instance), ignored -> new InstanceLoad(decayNanos, clock.getAsLong()));
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ':' + instance.getPort();
+    }
+}
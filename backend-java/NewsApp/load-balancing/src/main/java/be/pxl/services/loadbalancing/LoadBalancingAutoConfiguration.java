@@ -0,0 +1,41 @@
+package be.pxl.services.loadbalancing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Replaces the default round-robin balancer of every LoadBalancer client, the gateway's {@code lb://} routes and
+ * the Feign clients alike, with {@link PeakEwmaLoadBalancer} unless a service is set to {@code round-robin}.
+ * Also provides {@link HedgedRequests} for callers that opt into hedged reads.
+ */
+@AutoConfiguration(after = LoadBalancerAutoConfiguration.class)
+@ConditionalOnClass(ReactorLoadBalancer.class)
+@EnableConfigurationProperties(LoadBalancingProperties.class)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HedgeBudget hedgeBudget(LoadBalancingProperties properties) {
+        return new HedgeBudget(properties.hedging().budgetRatio(), properties.hedging().budgetBurst());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(LoadBalancerClientFactory.class)
+    public HedgedRequests hedgedRequests(LoadBalancerClientFactory loadBalancerClientFactory, HedgeBudget hedgeBudget,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        return new HedgedRequests(loadBalancerClientFactory, hedgeBudget, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+}
@@ -0,0 +1,51 @@
+package be.pxl.services.loadbalancing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * How calls to other services are spread over their Eureka instances.
+ * {@code strategy} and {@code decayTime} are the defaults; {@code services.<service-id>} overrides them per service.
+ */
+@ConfigurationProperties("loadbalancing")
+public record LoadBalancingProperties(Strategy strategy, Duration decayTime, Map<String, ServiceSettings> services,
+                                      Hedging hedging) {
+
+    public enum Strategy { PEAK_EWMA, ROUND_ROBIN }
+
+    public LoadBalancingProperties {
+        strategy = strategy != null ? strategy : Strategy.PEAK_EWMA;
+        decayTime = decayTime != null ? decayTime : Duration.ofSeconds(10);
+        services = services != null ? services : Map.of();
+        hedging = hedging != null ? hedging : new Hedging(0, 0);
+    }
+
+    public ServiceSettings forService(String serviceId) {
+        ServiceSettings settings = services.get(serviceId);
+        return new ServiceSettings(
+                settings != null && settings.strategy() != null ? settings.strategy() : strategy,
+                settings != null && settings.decayTime() != null ? settings.decayTime() : decayTime);
+    }
+
+    /**
+     * @param decayTime how quickly old latency samples lose their weight; shorter reacts faster but is noisier
+     */
+    public record ServiceSettings(Strategy strategy, Duration decayTime) {
+    }
+
+    /**
+     * Application-wide budget for hedged requests.
+     *
+     * @param budgetRatio extra requests hedging may add, as a fraction of the hedgeable requests
+     * @param budgetBurst hedges that can be sent at once after a quiet period
+     */
+    public record Hedging(double budgetRatio, int budgetBurst) {
+
+        public Hedging {
+            budgetRatio = budgetRatio > 0 ? budgetRatio : 0.1;
+            budgetBurst = budgetBurst > 0 ? budgetBurst : 10;
+        }
+    }
+}
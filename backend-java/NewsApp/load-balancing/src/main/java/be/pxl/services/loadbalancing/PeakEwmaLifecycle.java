@@ -0,0 +1,65 @@
+package be.pxl.services.loadbalancing;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds the {@link InstanceLoadTracker} from the load balancer lifecycle that both the gateway and the
+ * Feign clients report to: a request in flight while it runs, and its latency once it completes.
+ */
+public class PeakEwmaLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    // A failed call is usually fast (connection refused); count it as slow so the instance is avoided
+    private static final long FAILURE_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final InstanceLoadTracker tracker;
+
+    public PeakEwmaLifecycle(InstanceLoadTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed && timed.getRequestStartTime() == 0) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        tracker.started(lbResponse.getServer());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        // DISCARD with a chosen instance means the request was cancelled, e.g. the losing attempt of a hedged read
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+
+        long latency = 0;
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext timed && timed.getRequestStartTime() != 0) {
+            latency = System.nanoTime() - timed.getRequestStartTime();
+        }
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            latency = Math.max(latency, FAILURE_LATENCY_NANOS);
+        }
+        tracker.finished(lbResponse.getServer(), latency);
+    }
+}
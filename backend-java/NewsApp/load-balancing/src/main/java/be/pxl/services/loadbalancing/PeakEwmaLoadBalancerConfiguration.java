@@ -0,0 +1,42 @@
+package be.pxl.services.loadbalancing;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service LoadBalancer configuration, created once in every service's LoadBalancer child context.
+ * Deliberately not a {@code @Configuration}: it must only be picked up through {@code @LoadBalancerClients}.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public InstanceLoadTracker instanceLoadTracker(Environment environment, LoadBalancingProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new InstanceLoadTracker(properties.forService(serviceId).decayTime().toNanos(), System::nanoTime);
+    }
+
+    @Bean
+    public PeakEwmaLifecycle peakEwmaLifecycle(InstanceLoadTracker instanceLoadTracker) {
+        return new PeakEwmaLifecycle(instanceLoadTracker);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            LoadBalancingProperties properties,
+            InstanceLoadTracker instanceLoadTracker
+    ) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        var instances = loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        return switch (properties.forService(serviceId).strategy()) {
+            case PEAK_EWMA -> new PeakEwmaLoadBalancer(instances, serviceId, instanceLoadTracker);
+            case ROUND_ROBIN -> new RoundRobinLoadBalancer(instances, serviceId);
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package be.pxl.services.loadbalancing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HedgedRequestsUnitTest {
+
+    private static final String SERVICE_ID = "post-service";
+    private static final RequestData REQUEST_DATA = new RequestData(HttpMethod.GET, URI.create("http://post-service/api/post/1"),
+            new HttpHeaders(), new HttpHeaders(), Map.of());
+
+    @Mock
+    private LoadBalancerClientFactory clientFactory;
+
+    private final InstanceLoadTracker tracker = new InstanceLoadTracker(TimeUnit.SECONDS.toNanos(10), System::nanoTime);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> attempts = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void sendsASecondAttemptToAnotherInstanceWhenTheFirstIsSlow() {
+        HedgedRequests hedgedRequests = hedgedRequests(new HedgeBudget(0.1, 10));
+
+        String result = hedgedRequests.execute(SERVICE_ID, REQUEST_DATA, fixedDelay(20), firstAttemptTakes(Duration.ofSeconds(5)))
+                .block(Duration.ofSeconds(2));
+
+        assertEquals(2, attempts.size());
+        assertNotEquals(attempts.get(0), attempts.get(1));
+        assertEquals(attempts.get(1), result);
+        assertEquals(1.0, meterRegistry.counter("loadbalancing.hedges", "service", SERVICE_ID, "result", "won").count());
+        // the cancelled first attempt no longer counts as in flight
+        assertEquals(0, tracker.outstanding(instance(attempts.get(0))));
+    }
+
+    @Test
+    public void keepsALosingBlockingAttemptInFlightUntilItsCallReturns() throws InterruptedException {
+        HedgedRequests hedgedRequests = hedgedRequests(new HedgeBudget(0.1, 10));
+        CountDownLatch release = new CountDownLatch(1);
+
+        String result = hedgedRequests.executeBlocking(SERVICE_ID, REQUEST_DATA, fixedDelay(20), instance -> {
+            attempts.add(instance.getInstanceId());
+            if (attempts.size() == 1) {
+                release.await();
+            }
+            return instance.getInstanceId();
+        }).block(Duration.ofSeconds(2));
+
+        assertEquals(attempts.get(1), result);
+        ServiceInstance loser = instance(attempts.get(0));
+        assertEquals(1, tracker.outstanding(loser));
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (tracker.outstanding(loser) != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, tracker.outstanding(loser));
+    }
+
+    @Test
+    public void doesNotHedgeWhenTheFirstAttemptAnswersInTime() {
+        HedgedRequests hedgedRequests = hedgedRequests(new HedgeBudget(0.1, 10));
+
+        String result = hedgedRequests.execute(SERVICE_ID, REQUEST_DATA, fixedDelay(200), firstAttemptTakes(Duration.ZERO))
+                .block(Duration.ofSeconds(2));
+
+        assertEquals(List.of(result), attempts);
+    }
+
+    @Test
+    public void hedgesNoMoreThanTheBudgetAllows() {
+        HedgedRequests hedgedRequests = hedgedRequests(new HedgeBudget(0.1, 1));
+        HedgeDelay delay = fixedDelay(10);
+
+        hedgedRequests.execute(SERVICE_ID, REQUEST_DATA, delay, firstAttemptTakes(Duration.ofMillis(100))).block(Duration.ofSeconds(2));
+        assertEquals(2, attempts.size());
+
+        attempts.clear();
+        hedgedRequests.execute(SERVICE_ID, REQUEST_DATA, delay, firstAttemptTakes(Duration.ofMillis(100))).block(Duration.ofSeconds(2));
+        assertEquals(1, attempts.size());
+        assertEquals(1.0, meterRegistry.counter("loadbalancing.hedges", "service", SERVICE_ID, "result", "throttled").count());
+    }
+
+    @Test
+    public void doesNotRetryAFirstAttemptThatFailsBeforeTheDelay() {
+        HedgedRequests hedgedRequests = hedgedRequests(new HedgeBudget(0.1, 10));
+        long start = System.nanoTime();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> hedgedRequests
+                .execute(SERVICE_ID, REQUEST_DATA, fixedDelay(500), instance -> {
+                    attempts.add(instance.getInstanceId());
+                    return Mono.<String>error(new ResponseStatusException(HttpStatus.BAD_GATEWAY));
+                })
+                .block(Duration.ofSeconds(2)));
+
+        assertEquals(HttpStatus.BAD_GATEWAY, exception.getStatusCode());
+        assertEquals(1, attempts.size());
+        // the error is not held back until the hedge delay has passed
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 250, "failed after " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void delayFollowsThePercentileOfRecentLatencies() {
+        HedgeDelay delay = new HedgeDelay(0.95, Duration.ofMillis(5), Duration.ofSeconds(1));
+        assertEquals(Duration.ofSeconds(1), delay.current());
+
+        for (int i = 1; i <= 128; i++) {
+            delay.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(Duration.ofMillis(122), delay.current());
+    }
+
+    private HedgedRequests hedgedRequests(HedgeBudget budget) {
+        ServiceInstance[] instances = {instance("a"), instance("b")};
+        when(clientFactory.getInstance(SERVICE_ID)).thenReturn(new PeakEwmaLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, instances), SERVICE_ID, tracker));
+        when(clientFactory.getInstances(SERVICE_ID, LoadBalancerLifecycle.class))
+                .thenReturn(Map.of("peakEwmaLifecycle", new PeakEwmaLifecycle(tracker)));
+        return new HedgedRequests(clientFactory, budget, meterRegistry);
+    }
+
+    private Function<ServiceInstance, Mono<String>> firstAttemptTakes(Duration latency) {
+        return instance -> {
+            attempts.add(instance.getInstanceId());
+            Mono<String> answer = Mono.just(instance.getInstanceId());
+            return attempts.size() == 1 ? answer.delayElement(latency) : answer;
+        };
+    }
+
+    private static HedgeDelay fixedDelay(long millis) {
+        return new HedgeDelay(0.95, Duration.ofMillis(millis), Duration.ofMillis(millis));
+    }
+
+    private static ServiceInstance instance(String id) {
+        return new DefaultServiceInstance(id, SERVICE_ID, id + ".local", 8080, false);
+    }
+}
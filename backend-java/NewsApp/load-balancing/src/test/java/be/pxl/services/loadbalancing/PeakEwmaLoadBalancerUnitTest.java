@@ -0,0 +1,218 @@
+package be.pxl.services.loadbalancing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PeakEwmaLoadBalancerUnitTest {
+
+    private static final String SERVICE_ID = "post-service";
+    private static final long DECAY_NANOS = Duration.ofSeconds(10).toNanos();
+
+    private final long[] now = {0};
+    private final InstanceLoadTracker tracker = new InstanceLoadTracker(DECAY_NANOS, () -> now[0]);
+
+    @Test
+    public void picksTheInstanceWithTheLowerLatency() {
+        ServiceInstance fast = instance("fast");
+        ServiceInstance slow = instance("slow");
+        tracker.started(fast);
+        tracker.finished(fast, millis(10));
+        tracker.started(slow);
+        tracker.finished(slow, millis(200));
+
+        PeakEwmaLoadBalancer balancer = balancer(new Random(1), fast, slow);
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(fast, choose(balancer));
+        }
+    }
+
+    @Test
+    public void picksTheInstanceWithFewerRequestsInFlightWhenLatenciesAreEqual() {
+        ServiceInstance busy = instance("busy");
+        ServiceInstance idle = instance("idle");
+        for (ServiceInstance instance : List.of(busy, idle)) {
+            tracker.started(instance);
+            tracker.finished(instance, millis(10));
+        }
+        tracker.started(busy);
+        tracker.started(busy);
+
+        assertSame(idle, choose(balancer(new Random(1), busy, idle)));
+    }
+
+    @Test
+    public void avoidsAnInstanceThatHasRequestsInFlightButNoLatencyYet() {
+        ServiceInstance warm = instance("warm");
+        ServiceInstance fresh = instance("fresh");
+        tracker.started(warm);
+        tracker.finished(warm, millis(500));
+        tracker.started(fresh);
+
+        assertSame(warm, choose(balancer(new Random(1), warm, fresh)));
+    }
+
+    @Test
+    public void neverSendsAHedgeToTheInstanceOfTheFirstAttempt() {
+        ServiceInstance first = instance("first");
+        ServiceInstance other = instance("other");
+        tracker.started(other);
+        tracker.finished(other, millis(500));
+        PeakEwmaLoadBalancer balancer = balancer(new Random(1), first, other);
+        DefaultRequest<RequestDataContext> hedge = new DefaultRequest<>(new HedgeRequestContext(new RequestData(
+                HttpMethod.GET, URI.create("http://post-service/api/post/1"), new HttpHeaders(), new HttpHeaders(), Map.of()), first));
+
+        assertSame(first, choose(balancer));
+        assertSame(other, balancer.choose(hedge).block().getServer());
+    }
+
+    @Test
+    public void keepsTheLoadOfTheInstanceAHedgeExcludes() {
+        ServiceInstance first = instance("first");
+        ServiceInstance b = instance("b");
+        ServiceInstance c = instance("c");
+        for (ServiceInstance instance : List.of(first, b, c)) {
+            tracker.started(instance);
+            tracker.finished(instance, millis(10));
+        }
+        tracker.started(first);
+        DefaultRequest<RequestDataContext> hedge = new DefaultRequest<>(new HedgeRequestContext(new RequestData(
+                HttpMethod.GET, URI.create("http://post-service/api/post/1"), new HttpHeaders(), new HttpHeaders(), Map.of()), first));
+
+        balancer(new Random(1), first, b, c).choose(hedge).block();
+
+        // the first attempt is still in flight and must be counted once it completes
+        assertEquals(1, tracker.outstanding(first));
+    }
+
+    @Test
+    public void returnsTheOnlyInstanceOrAnEmptyResponse() {
+        ServiceInstance only = instance("only");
+
+        assertSame(only, choose(balancer(new Random(1), only)));
+        Response<ServiceInstance> response = new PeakEwmaLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID), SERVICE_ID, tracker).choose().block();
+        assertInstanceOf(EmptyResponse.class, response);
+    }
+
+    @Test
+    public void lifecycleTracksRequestsInFlightAndTheirLatency() {
+        ServiceInstance instance = instance("a");
+        PeakEwmaLifecycle lifecycle = new PeakEwmaLifecycle(tracker);
+        DefaultRequest<Object> request = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+
+        lifecycle.onStartRequest(request, lbResponse);
+        assertEquals(1, tracker.outstanding(instance));
+        assertTrue(((RequestDataContext) request.getContext()).getRequestStartTime() > 0);
+
+        lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, new IllegalStateException(), request, lbResponse));
+        assertEquals(0, tracker.outstanding(instance));
+        // a failure counts as at least a second so the instance is not favoured for failing fast
+        assertTrue(tracker.cost(instance) >= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Five instances, one of which answers 20 times slower, under a steady 500 requests per second.
+     * Round robin sends a fifth of the traffic to the slow instance, so its latency becomes the p99;
+     * peak-EWMA power-of-two-choices only probes it now and then.
+     */
+    @Test
+    public void slowInstanceNoLongerDominatesTheTailLatency() {
+        List<ServiceInstance> instances = List.of(instance("a"), instance("b"), instance("c"), instance("d"), instance("slow"));
+        Map<String, Long> baseLatency = new HashMap<>();
+        instances.forEach(instance -> baseLatency.put(instance.getInstanceId(), millis(10)));
+        baseLatency.put("slow", millis(200));
+
+        ServiceInstance[] array = instances.toArray(ServiceInstance[]::new);
+        long[] roundRobin = simulate(new RoundRobinLoadBalancer(ServiceInstanceListSuppliers.toProvider(SERVICE_ID, array), SERVICE_ID), baseLatency);
+        long[] peakEwma = simulate(balancer(new Random(42), array), baseLatency);
+
+        long roundRobinP99 = percentile(roundRobin, 0.99);
+        long peakEwmaP99 = percentile(peakEwma, 0.99);
+        assertTrue(roundRobinP99 >= millis(150), "round robin p99 " + roundRobinP99);
+        assertTrue(peakEwmaP99 <= millis(15), "peak EWMA p99 " + peakEwmaP99);
+        assertTrue(percentile(peakEwma, 0.999) < roundRobinP99);
+    }
+
+    private long[] simulate(ReactorServiceInstanceLoadBalancer balancer, Map<String, Long> baseLatency) {
+        Random jitter = new Random(7);
+        PriorityQueue<Completion> inFlight = new PriorityQueue<>();
+        long[] latencies = new long[20_000];
+        now[0] = 0;
+
+        for (int i = 0; i < latencies.length; i++) {
+            long arrival = i * millis(2);
+            while (!inFlight.isEmpty() && inFlight.peek().at() <= arrival) {
+                Completion completion = inFlight.poll();
+                now[0] = completion.at();
+                tracker.finished(completion.instance(), completion.latency());
+            }
+            now[0] = arrival;
+
+            ServiceInstance chosen = choose(balancer);
+            long latency = (long) (baseLatency.get(chosen.getInstanceId()) * (0.8 + 0.4 * jitter.nextDouble()));
+            tracker.started(chosen);
+            inFlight.add(new Completion(now[0] + latency, chosen, latency));
+            latencies[i] = latency;
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] latencies, double quantile) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+
+    private PeakEwmaLoadBalancer balancer(Random random, ServiceInstance... instances) {
+        return new PeakEwmaLoadBalancer(ServiceInstanceListSuppliers.toProvider(SERVICE_ID, instances), SERVICE_ID, tracker, () -> random);
+    }
+
+    private static ServiceInstance choose(ReactorServiceInstanceLoadBalancer balancer) {
+        return balancer.choose(new DefaultRequest<>()).block().getServer();
+    }
+
+    private static ServiceInstance instance(String id) {
+        return new DefaultServiceInstance(id, SERVICE_ID, id + ".local", 8080, false);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private record Completion(long at, ServiceInstance instance, long latency) implements Comparable<Completion> {
+        @Override
+        public int compareTo(Completion other) {
+            return Long.compare(at, other.at);
+        }
+    }
+}
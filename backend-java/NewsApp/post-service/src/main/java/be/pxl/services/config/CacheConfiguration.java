@@ -0,0 +1,39 @@
+package be.pxl.services.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * The posts cache lives in each instance's heap. Writes elsewhere reach it through post events, which are best
+ * effort, so the write expiry bounds how long a missed event can leave a stale post behind.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String POSTS_CACHE = "posts";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${post.cache.maximum-size:10000}") long maximumSize,
+            @Value("${post.cache.expire-after-write:1m}") Duration expireAfterWrite
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(POSTS_CACHE);
+        // recordStats() feeds the cache.gets / cache.evictions metrics exposed through actuator
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // evictions inside a transaction wait for its commit, so a read in between can't re-cache the old row
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
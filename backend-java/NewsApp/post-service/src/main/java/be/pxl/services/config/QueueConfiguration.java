@@ -1,14 +1,73 @@
 package be.pxl.services.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class QueueConfiguration {
 
+    public static final String POST_STATUS_COMMAND_QUEUE = "post-status-command-queue";
+    public static final String POST_STATUS_COMMAND_DLX = "post-status-command-dlx";
+    public static final String POST_STATUS_COMMAND_DLQ = "post-status-command-queue.dlq";
+    public static final String POST_EVENTS_EXCHANGE = "post-events";
+
+    /**
+     * Once the listener's retries are used up the command is rejected without requeue, and the broker moves it to
+     * the dead letter queue instead of dropping it. review-service declares the queue with the same arguments.
+     */
+    @Bean
+    public Queue postStatusCommandQueue() {
+        return QueueBuilder.durable(POST_STATUS_COMMAND_QUEUE)
+                .deadLetterExchange(POST_STATUS_COMMAND_DLX)
+                .deadLetterRoutingKey(POST_STATUS_COMMAND_DLQ)
+                .build();
+    }
+
+    @Bean
+    public DirectExchange postStatusCommandDeadLetterExchange() {
+        return new DirectExchange(POST_STATUS_COMMAND_DLX, true, false);
+    }
+
+    @Bean
+    public Queue postStatusCommandDeadLetterQueue() {
+        return QueueBuilder.durable(POST_STATUS_COMMAND_DLQ).build();
+    }
+
+    @Bean
+    public Binding postStatusCommandDeadLetterBinding(Queue postStatusCommandDeadLetterQueue, DirectExchange postStatusCommandDeadLetterExchange) {
+        return BindingBuilder.bind(postStatusCommandDeadLetterQueue).to(postStatusCommandDeadLetterExchange).with(POST_STATUS_COMMAND_DLQ);
+    }
+
+    @Bean
+    public FanoutExchange postEventsExchange() {
+        return new FanoutExchange(POST_EVENTS_EXCHANGE, true, false);
+    }
+
+    /**
+     * Every instance keeps its own feed snapshot and posts cache, so each one gets a private queue that goes away with it.
+     */
+    @Bean
+    public Queue postEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding postEventsBinding(Queue postEventsQueue, FanoutExchange postEventsExchange) {
+        return BindingBuilder.bind(postEventsQueue).to(postEventsExchange);
+    }
+
     @Bean
-    public Queue approvalQueue() {
-        return new Queue("post-status-queue", false);
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,33 @@
 package be.pxl.services.controller;
 
+import be.pxl.services.domain.dto.DailyPostCountResponse;
+import be.pxl.services.domain.dto.FeedSnapshot;
 import be.pxl.services.domain.dto.PostEditDto;
+import be.pxl.services.domain.dto.PostFilter;
+import be.pxl.services.domain.dto.PostPage;
 import be.pxl.services.domain.dto.PostRequest;
 import be.pxl.services.domain.dto.PostResponse;
 import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.domain.dto.PostStatusUpdate;
+import be.pxl.services.domain.dto.PostStatusUpdateResult;
 import be.pxl.services.services.IPostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,29 +36,150 @@ import java.util.List;
 @Slf4j
 public class PostController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_BULK_UPDATES = 1000;
+    private static final String SUMMARY_VIEW = "summary";
+    private static final String FULL_VIEW = "full";
+    private static final int DEFAULT_HISTOGRAM_DAYS = 30;
+
     private final IPostService postService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<PostResponse> getPublishedPosts(
+    public ResponseEntity<?> getPublishedPosts(
             @RequestParam(required = false) String content,
             @RequestParam(required = false) String author,
-            @RequestParam(required = false) String date
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IPostService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = FULL_VIEW) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        PostFilter filter = PostFilter.builder()
+                .content(content)
+                .author(author)
+                .from(day != null ? day.atStartOfDay() : from)
+                .to(day != null ? day.plusDays(1).atStartOfDay() : to)
+                .build();
+
+        PostPage<?> page;
+        if (SUMMARY_VIEW.equalsIgnoreCase(view)) {
+            page = postService.getPublishedPostSummaries(filter, cursor, size);
+        } else if (filter.isEmpty() && cursor == null && size == IPostService.DEFAULT_PAGE_SIZE) {
+            return getPublishedFeed(ifNoneMatch);
+        } else {
+            page = postService.getPublishedPosts(filter, cursor, size);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.posts());
+    }
+
+    private ResponseEntity<?> getPublishedFeed(String ifNoneMatch) {
+        FeedSnapshot snapshot = postService.getPublishedFeed();
+
+        if (matchesEtag(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (snapshot.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, snapshot.nextCursor());
+        }
+        return response.body(snapshot.body());
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @GetMapping("/stats/daily")
+    public List<DailyPostCountResponse> getDailyPublishedCounts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        return postService.getPublishedPosts(content, author, date);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_HISTOGRAM_DAYS - 1);
+
+        return postService.getDailyPublishedCounts(start, end);
+    }
+
+    @GetMapping("/published/ids")
+    public List<Long> getPublishedPostIds(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + IPostService.MAX_ID_PAGE_SIZE) int size
+    ) {
+        return postService.getPublishedPostIds(after, size);
+    }
+
+    @GetMapping("/search")
+    public List<PostResponse> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return postService.searchPosts(query, page, size);
     }
 
     @GetMapping("/editor")
-    public ResponseEntity<List<PostResponse>> getPostsForEditor(
+    public ResponseEntity<List<?>> getPostsForEditor(
             @RequestHeader("X-Role") String role,
-            @RequestParam(required = false) String status
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = FULL_VIEW) String view
     ) {
         if (!"editor".equalsIgnoreCase(role)) {
             log.warn("Unauthorized access attempt to getPostsForEditor endpoint. Role provided: {}", role);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        if (SUMMARY_VIEW.equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(postService.getPostSummariesForEditor(status));
+        }
         return ResponseEntity.ok(postService.getAllPostsForEditor(status));
     }
 
+    @GetMapping(value = "/editor", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPostsForEditor(
+            @RequestHeader("X-Role") String role,
+            @RequestParam(required = false) String status
+    ) {
+        if (!"editor".equalsIgnoreCase(role)) {
+            log.warn("Unauthorized access attempt to streamPostsForEditor endpoint. Role provided: {}", role);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        StreamingResponseBody body = outputStream -> postService.streamPostsForEditor(status, post -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(post));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<PostResponse> createPost(
             @Valid @RequestBody PostRequest postRequest,
@@ -91,6 +228,24 @@ public class PostController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/status")
+    public ResponseEntity<List<PostStatusUpdateResult>> updatePostStatuses(
+            @RequestBody List<PostStatusUpdate> updates,
+            @RequestHeader("X-Role") String role
+    ) {
+        if (!"editor".equalsIgnoreCase(role)) {
+            log.warn("Unauthorized access attempt to updatePostStatuses endpoint. Role provided: {}", role);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        if (updates.size() > MAX_BULK_UPDATES) {
+            log.warn("Rejected bulk status update with {} entries", updates.size());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        return ResponseEntity.ok(postService.updatePostStatuses(updates));
+    }
+
     @GetMapping("/{postId}")
     public ResponseEntity<PostResponse> getPostById(
             @PathVariable Long postId,
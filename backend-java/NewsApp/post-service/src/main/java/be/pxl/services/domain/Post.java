@@ -1,5 +1,6 @@
 package be.pxl.services.domain;
 
+import be.pxl.services.idgeneration.IdGeneration;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,14 +9,19 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "post")
+@Table(name = "post", indexes = {
+        @Index(name = "idx_post_status_creation_date", columnList = "post_status, creation_date, id"),
+        @Index(name = "idx_post_status_author_creation_date", columnList = "post_status, author, creation_date, id"),
+        @Index(name = "idx_post_status_id", columnList = "post_status, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     private String title;
     private String content;
@@ -0,0 +1,7 @@
+package be.pxl.services.domain;
+
+public enum PostEventType {
+    CREATED,
+    EDITED,
+    STATUS_CHANGED
+}
@@ -0,0 +1,5 @@
+package be.pxl.services.domain.dto;
+
+import java.time.LocalDate;
+
+public record DailyPostCountResponse(LocalDate day, long posts) { }
@@ -0,0 +1,6 @@
+package be.pxl.services.domain.dto;
+
+/**
+ * Immutable, already serialized first page of the published feed. {@code builtAt} is a monotonic clock reading.
+ */
+public record FeedSnapshot(long version, long builtAt, byte[] body, String etag, String nextCursor) { }
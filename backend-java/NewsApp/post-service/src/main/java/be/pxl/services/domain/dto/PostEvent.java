@@ -0,0 +1,10 @@
+package be.pxl.services.domain.dto;
+
+import be.pxl.services.domain.PostEventType;
+
+import java.time.Instant;
+
+/**
+ * Broadcast on the post events exchange after a post was created or changed. Carries the post as it is after the change.
+ */
+public record PostEvent(PostEventType type, PostResponse post, Instant occurredAt) { }
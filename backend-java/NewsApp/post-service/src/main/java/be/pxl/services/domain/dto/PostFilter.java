@@ -0,0 +1,23 @@
+package be.pxl.services.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostFilter {
+    private String content;
+    private String author;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public boolean isEmpty() {
+        return content == null && author == null && from == null && to == null;
+    }
+}
@@ -0,0 +1,8 @@
+package be.pxl.services.domain.dto;
+
+import java.util.List;
+
+/**
+ * One page of the feed. {@code nextCursor} is {@code null} when there are no older posts.
+ */
+public record PostPage<T>(List<T> posts, String nextCursor) { }
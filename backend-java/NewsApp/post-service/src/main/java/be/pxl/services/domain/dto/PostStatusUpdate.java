@@ -2,4 +2,4 @@ package be.pxl.services.domain.dto;
 
 import be.pxl.services.domain.PostStatus;
 
-public record PostStatusRequest(PostStatus status) { }
\ No newline at end of file
+public record PostStatusUpdate(Long postId, PostStatus status) { }
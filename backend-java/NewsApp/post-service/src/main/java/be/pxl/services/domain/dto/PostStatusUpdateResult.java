@@ -0,0 +1,5 @@
+package be.pxl.services.domain.dto;
+
+import be.pxl.services.domain.PostStatus;
+
+public record PostStatusUpdateResult(Long postId, PostStatus status, boolean updated) { }
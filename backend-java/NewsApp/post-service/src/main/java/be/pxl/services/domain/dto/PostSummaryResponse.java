@@ -0,0 +1,26 @@
+package be.pxl.services.domain.dto;
+
+import be.pxl.services.domain.PostStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * List representation of a post: everything but the full body, which is cut down to a short snippet.
+ * The status is a string, like in {@link PostResponse}.
+ */
+public record PostSummaryResponse(
+        Long id,
+        String title,
+        String author,
+        LocalDateTime creationDate,
+        String status,
+        String snippet
+) {
+
+    /**
+     * Used by the column projection, which selects the mapped enum.
+     */
+    public PostSummaryResponse(Long id, String title, String author, LocalDateTime creationDate, PostStatus status, String snippet) {
+        this(id, title, author, creationDate, status != null ? status.toString() : null, snippet);
+    }
+}
@@ -0,0 +1,12 @@
+package be.pxl.services.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection for one row of the per-day post histogram.
+ */
+public interface DailyPostCount {
+    LocalDate getDay();
+
+    long getPosts();
+}
@@ -2,10 +2,55 @@ package be.pxl.services.repository;
 
 import be.pxl.services.domain.Post;
 import be.pxl.services.domain.PostStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificationExecutor<Post>, PostRepositoryCustom {
+    // rows per round trip when streaming; MySQL only honours it with useCursorFetch=true on the JDBC url
+    String STREAM_FETCH_SIZE = "500";
 
-public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findByPostStatus(PostStatus postStatus);
+
+    List<Post> findByPostStatusAndIdGreaterThanOrderByIdAsc(PostStatus postStatus, Long afterId, Limit limit);
+
+    List<PostStatusView> findByIdIn(Collection<Long> ids);
+
+    @Query("select p.id from Post p where p.postStatus = :postStatus and p.id > :afterId order by p.id")
+    List<Long> findIdsByPostStatusAfter(@Param("postStatus") PostStatus postStatus, @Param("afterId") long afterId, Limit limit);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Post p set p.postStatus = :postStatus where p.id in :ids")
+    int updatePostStatus(@Param("ids") Collection<Long> ids, @Param("postStatus") PostStatus postStatus);
+
+    @Query("select cast(p.creationDate as LocalDate) as day, count(p) as posts from Post p "
+            + "where p.postStatus = :postStatus and p.creationDate >= :from and p.creationDate < :to "
+            + "group by cast(p.creationDate as LocalDate) "
+            + "order by cast(p.creationDate as LocalDate)")
+    List<DailyPostCount> countPerDay(
+            @Param("postStatus") PostStatus postStatus,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select p from Post p order by p.id")
+    Stream<Post> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select p from Post p where p.postStatus = :postStatus order by p.id")
+    Stream<Post> streamByPostStatus(@Param("postStatus") PostStatus postStatus);
 }
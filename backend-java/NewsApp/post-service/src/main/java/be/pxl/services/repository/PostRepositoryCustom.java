@@ -0,0 +1,18 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.dto.PostSummaryResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface PostRepositoryCustom {
+    int SNIPPET_LENGTH = 200;
+
+    /**
+     * Selects only the summary columns and the first {@link #SNIPPET_LENGTH} characters of the content.
+     * A limit of 0 or less returns every match.
+     */
+    List<PostSummaryResponse> findSummaries(Specification<Post> specification, Sort sort, int limit);
+}
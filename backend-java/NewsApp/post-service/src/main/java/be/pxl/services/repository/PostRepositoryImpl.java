@@ -0,0 +1,50 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.dto.PostSummaryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<PostSummaryResponse> findSummaries(Specification<Post> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostSummaryResponse> query = cb.createQuery(PostSummaryResponse.class);
+        Root<Post> root = query.from(Post.class);
+
+        query.select(cb.construct(PostSummaryResponse.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("author"),
+                root.get("creationDate"),
+                root.get("postStatus"),
+                cb.substring(root.get("content"), 1, SNIPPET_LENGTH)
+        ));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<PostSummaryResponse> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+}
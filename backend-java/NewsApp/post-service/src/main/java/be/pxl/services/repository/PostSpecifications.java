@@ -0,0 +1,72 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.domain.dto.PostCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reusable predicates for {@link Post} queries. Every filter is pushed down to the database so the
+ * composite indexes on (post_status, creation_date) and (post_status, author, creation_date) can be used.
+ */
+public final class PostSpecifications {
+
+    /**
+     * Feed ordering used together with {@link #after(PostCursor)}: newest first, id as tie-breaker.
+     */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("creationDate"), Sort.Order.desc("id"));
+
+    private PostSpecifications() {
+    }
+
+    public static Specification<Post> hasStatus(PostStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("postStatus"), status);
+    }
+
+    public static Specification<Post> hasContent(String content) {
+        return (root, query, cb) -> content == null ? null : cb.equal(root.get("content"), content);
+    }
+
+    public static Specification<Post> hasAuthor(String author) {
+        return (root, query, cb) -> author == null ? null : cb.equal(root.get("author"), author);
+    }
+
+    /**
+     * Creation date range, {@code from} inclusive and {@code to} exclusive. Either bound may be open.
+     */
+    public static Specification<Post> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(
+                        cb.greaterThanOrEqualTo(root.get("creationDate"), from),
+                        cb.lessThan(root.get("creationDate"), to)
+                );
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("creationDate"), from);
+            }
+            return to == null ? null : cb.lessThan(root.get("creationDate"), to);
+        };
+    }
+
+    /**
+     * Keyset predicate: only posts that come strictly after the cursor in {@link #NEWEST_FIRST} order.
+     */
+    public static Specification<Post> after(PostCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.lessThan(root.get("creationDate"), cursor.creationDate()),
+                    cb.and(
+                            cb.equal(root.get("creationDate"), cursor.creationDate()),
+                            cb.lessThan(root.get("id"), cursor.id())
+                    )
+            );
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.PostStatus;
+
+/**
+ * Projection that only selects the id and status columns of a post.
+ */
+public interface PostStatusView {
+    Long getId();
+
+    PostStatus getPostStatus();
+}
@@ -0,0 +1,7 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.ProcessedCommand;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProcessedCommandRepository extends JpaRepository<ProcessedCommand, String> {
+}
@@ -0,0 +1,178 @@
+package be.pxl.services.search;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the title and content of published posts, ranked with BM25.
+ * Posting lists map a term to the ids of the posts containing it and the term frequency in each post.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int TITLE_WEIGHT = 2;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    // BM25 tuning parameters, standard defaults
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final PostRepository repository;
+
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedPost> documents = new ConcurrentHashMap<>();
+    private final AtomicLong totalLength = new AtomicLong();
+
+    private record IndexedPost(Map<String, Integer> termFrequencies, int length) { }
+
+    /**
+     * Adds or replaces a post in the index. Posts that are not published are removed instead.
+     */
+    public void index(Post post) {
+        if (post.getId() == null) {
+            return;
+        }
+        if (post.getPostStatus() != PostStatus.PUBLISHED) {
+            remove(post.getId());
+            return;
+        }
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        tokenize(post.getTitle()).forEach(term -> termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(post.getContent()).forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        // compute() serialises concurrent updates of the same post
+        documents.compute(post.getId(), (postId, previous) -> {
+            if (previous != null) {
+                unlink(postId, previous);
+            }
+            termFrequencies.forEach((term, frequency) ->
+                    postings.compute(term, (t, postingList) -> {
+                        Map<Long, Integer> list = postingList != null ? postingList : new ConcurrentHashMap<>();
+                        list.put(postId, frequency);
+                        return list;
+                    }));
+            totalLength.addAndGet(length);
+            return new IndexedPost(termFrequencies, length);
+        });
+    }
+
+    public void remove(long postId) {
+        documents.computeIfPresent(postId, (id, previous) -> {
+            unlink(id, previous);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the ids of the best matching posts for the given page, best match first.
+     */
+    public List<Long> search(String query, int page, int size) {
+        Set<String> terms = new HashSet<>(tokenize(query));
+        int documentCount = documents.size();
+        if (terms.isEmpty() || documentCount == 0) {
+            return List.of();
+        }
+
+        double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (String term : terms) {
+            Map<Long, Integer> postingList = postings.get(term);
+            if (postingList == null || postingList.isEmpty()) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - postingList.size() + 0.5) / (postingList.size() + 0.5));
+            postingList.forEach((postId, frequency) -> {
+                IndexedPost document = documents.get(postId);
+                if (document == null) {
+                    return;
+                }
+                double norm = K1 * (1 - B + B * document.length() / averageLength);
+                scores.merge(postId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+            });
+        }
+
+        // long arithmetic: a huge page would overflow int, anything past the last hit is simply empty
+        long skip = (long) page * size;
+        if (skip >= scores.size()) {
+            return List.of();
+        }
+        int limit = (int) Math.min(skip + size, scores.size());
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+
+        // min-heap that keeps only the top "limit" hits instead of sorting every match
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll().getKey());
+        }
+        Collections.reverse(ranked);
+
+        return ranked.subList((int) skip, ranked.size());
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        // keyset paging on id, so every batch is an index range scan instead of skipping all earlier rows
+        long afterId = 0;
+        List<Post> batch;
+        do {
+            batch = repository.findByPostStatusAndIdGreaterThanOrderByIdAsc(PostStatus.PUBLISHED, afterId, Limit.of(REBUILD_BATCH_SIZE));
+            batch.parallelStream().forEach(this::index);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        log.info("Search index rebuilt with {} posts in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    private void unlink(Long postId, IndexedPost document) {
+        document.termFrequencies().keySet().forEach(term ->
+                postings.computeIfPresent(term, (t, postingList) -> {
+                    postingList.remove(postId);
+                    return postingList.isEmpty() ? null : postingList;
+                }));
+        totalLength.addAndGet(-document.length());
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
@@ -1,23 +1,54 @@
 package be.pxl.services.services;
 
+import be.pxl.services.domain.dto.DailyPostCountResponse;
+import be.pxl.services.domain.dto.FeedSnapshot;
 import be.pxl.services.domain.dto.PostEditDto;
+import be.pxl.services.domain.dto.PostFilter;
+import be.pxl.services.domain.dto.PostPage;
 import be.pxl.services.domain.dto.PostRequest;
 import be.pxl.services.domain.dto.PostResponse;
 import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.domain.dto.PostStatusUpdate;
+import be.pxl.services.domain.dto.PostStatusUpdateResult;
+import be.pxl.services.domain.dto.PostSummaryResponse;
 import jakarta.validation.Valid;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IPostService {
-    List<PostResponse> getPublishedPosts(String content, String author, String date);
+    int DEFAULT_PAGE_SIZE = 20;
+    int MAX_ID_PAGE_SIZE = 10_000;
+
+    PostPage<PostResponse> getPublishedPosts(PostFilter filter, String cursor, int size);
+
+    PostPage<PostSummaryResponse> getPublishedPostSummaries(PostFilter filter, String cursor, int size);
+
+    FeedSnapshot getPublishedFeed();
+
+    List<DailyPostCountResponse> getDailyPublishedCounts(LocalDate from, LocalDate to);
 
     List<PostResponse> getAllPostsForEditor(String status);
 
+    List<PostSummaryResponse> getPostSummariesForEditor(String status);
+
+    void streamPostsForEditor(String status, Consumer<PostResponse> consumer);
+
     PostResponse addNewPost(@Valid PostRequest postRequest, String author);
 
     PostResponse editPost(PostEditDto postEditDto, long postId);
 
     void updatePostStatus(long postId, PostStatusRequest statusRequest);
 
+    List<PostStatusUpdateResult> updatePostStatuses(List<PostStatusUpdate> updates);
+
+    List<PostResponse> searchPosts(String query, int page, int size);
+
     PostResponse getPostById(long postId);
+
+    /**
+     * Published post ids greater than {@code afterId}, ascending; pass the last id of a page to get the next one.
+     */
+    List<Long> getPublishedPostIds(long afterId, int size);
 }
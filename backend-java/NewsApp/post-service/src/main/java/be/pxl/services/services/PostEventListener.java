@@ -0,0 +1,34 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.CacheConfiguration;
+import be.pxl.services.domain.dto.PostEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops this instance's local copies when any instance changes a post. Events for this instance's own writes
+ * come back as well, which costs one extra feed rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostEventListener {
+
+    private final PublishedFeedSnapshot feedSnapshot;
+    private final CacheManager cacheManager;
+
+    @RabbitListener(queues = "#{postEventsQueue.name}")
+    public void onPostEvent(PostEvent event) {
+        log.debug("Invalidating local copies after {} event for post {}", event.type(), event.post().getId());
+        feedSnapshot.invalidate();
+
+        Cache postsCache = cacheManager.getCache(CacheConfiguration.POSTS_CACHE);
+        if (postsCache != null) {
+            postsCache.evict(event.post().getId());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.QueueConfiguration;
+import be.pxl.services.domain.dto.PostEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards {@link PostEvent}s to RabbitMQ once the change is committed. Delivery is best effort:
+ * consumers keep their read models honest with a periodic resync, so a failed publish is only logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(PostEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(QueueConfiguration.POST_EVENTS_EXCHANGE, "", event);
+        } catch (AmqpException e) {
+            log.warn("Could not publish {} event for post {}", event.type(), event.post().getId(), e);
+        }
+    }
+}
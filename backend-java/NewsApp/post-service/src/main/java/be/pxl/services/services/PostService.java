@@ -1,57 +1,150 @@
 package be.pxl.services.services;
 
+import be.pxl.services.config.CacheConfiguration;
 import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostEventType;
 import be.pxl.services.domain.PostStatus;
+import be.pxl.services.domain.dto.DailyPostCountResponse;
+import be.pxl.services.domain.dto.FeedSnapshot;
+import be.pxl.services.domain.dto.PostCursor;
 import be.pxl.services.domain.dto.PostEditDto;
+import be.pxl.services.domain.dto.PostEvent;
+import be.pxl.services.domain.dto.PostFilter;
+import be.pxl.services.domain.dto.PostPage;
 import be.pxl.services.domain.dto.PostRequest;
 import be.pxl.services.domain.dto.PostResponse;
 import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.domain.dto.PostStatusUpdate;
+import be.pxl.services.domain.dto.PostStatusUpdateResult;
+import be.pxl.services.domain.dto.PostSummaryResponse;
 import be.pxl.services.repository.PostRepository;
+import be.pxl.services.repository.PostStatusView;
+import be.pxl.services.search.PostSearchIndex;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static be.pxl.services.repository.PostSpecifications.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PostService implements IPostService{
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_HISTOGRAM_DAYS = 366;
+
     private final PostRepository repository;
+    private final PostSearchIndex searchIndex;
+    private final PublishedFeedSnapshot feedSnapshot;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public PostPage<PostResponse> getPublishedPosts(PostFilter filter, String cursor, int size) {
+        log.debug("Fetching published posts with filter: {}, cursor: {}, size: {}", filter, cursor, size);
 
-    @RabbitListener(queues = "post-status-queue")
-    public void receiveNotification(String message) {
-        log.info("Notification received: {}", message);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+
+        // fetch one extra row to know whether an older page exists without a count query
+        List<Post> posts = repository.findBy(publishedPostsAfter(filter, cursor), query -> query
+                .sortBy(NEWEST_FIRST)
+                .limit(pageSize + 1)
+                .all());
+
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            nextCursor = PostCursor.of(posts.getLast()).encode();
+        }
+
+        List<PostResponse> postResponses = posts.stream().map(this::mapToPostResponse).toList();
+
+        log.info("Returning {} published posts", postResponses.size());
+
+        return new PostPage<>(postResponses, nextCursor);
     }
 
     @Override
-    public List<PostResponse> getPublishedPosts(String content, String author, String date) {
-        log.debug("Fetching published posts with filters - content: {}, author: {}, date: {}", content, author, date);
+    public PostPage<PostSummaryResponse> getPublishedPostSummaries(PostFilter filter, String cursor, int size) {
+        log.debug("Fetching published post summaries with filter: {}, cursor: {}, size: {}", filter, cursor, size);
 
-        List<Post> posts = repository.findByPostStatus(PostStatus.PUBLISHED);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
 
-        if (content != null) {
-            posts = posts.stream().filter(p -> p.getContent().equals(content)).toList();
-        }
+        List<PostSummaryResponse> summaries = repository.findSummaries(
+                publishedPostsAfter(filter, cursor), NEWEST_FIRST, pageSize + 1);
 
-        if (author != null) {
-            posts = posts.stream().filter(p -> p.getAuthor().equals(author)).toList();
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            PostSummaryResponse last = summaries.getLast();
+            nextCursor = new PostCursor(last.creationDate(), last.id()).encode();
         }
 
-        if (date != null) {
-            posts = posts.stream().filter(p -> p.getCreationDate().toString().equals(date)).toList();
+        log.info("Returning {} published post summaries", summaries.size());
+
+        return new PostPage<>(summaries, nextCursor);
+    }
+
+    private Specification<Post> publishedPostsAfter(PostFilter filter, String cursor) {
+        return Specification.where(hasStatus(PostStatus.PUBLISHED))
+                .and(hasContent(filter.getContent()))
+                .and(hasAuthor(filter.getAuthor()))
+                .and(createdBetween(filter.getFrom(), filter.getTo()))
+                .and(after(PostCursor.decode(cursor)));
+    }
+
+    @Override
+    public List<DailyPostCountResponse> getDailyPublishedCounts(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_HISTOGRAM_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Date range must be between 1 and " + MAX_HISTOGRAM_DAYS + " days");
         }
 
-        List<PostResponse> postResponses = posts.stream().map(this::mapToPostResponse).toList();
+        List<DailyPostCountResponse> counts = repository
+                .countPerDay(PostStatus.PUBLISHED, from.atStartOfDay(), to.plusDays(1).atStartOfDay())
+                .stream()
+                .map(count -> new DailyPostCountResponse(count.getDay(), count.getPosts()))
+                .toList();
 
-        log.info("Returning {} published posts", postResponses.size());
+        log.debug("Computed daily published counts from {} to {} ({} days with posts)", from, to, counts.size());
 
-        return postResponses;
+        return counts;
+    }
+
+    @Override
+    public FeedSnapshot getPublishedFeed() {
+        return feedSnapshot.get(() -> getPublishedPosts(new PostFilter(), null, DEFAULT_PAGE_SIZE));
     }
 
     @Override
@@ -77,6 +170,55 @@ public class PostService implements IPostService{
         return postResponses;
     }
 
+    @Override
+    public List<PostSummaryResponse> getPostSummariesForEditor(String status) {
+        Specification<Post> specification = Specification.where(null);
+
+        if (status != null && !status.isBlank()) {
+            try {
+                specification = hasStatus(PostStatus.valueOf(status.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid status requested: {}", status);
+                return List.of();
+            }
+        }
+
+        List<PostSummaryResponse> summaries = repository.findSummaries(specification, Sort.by("id"), 0);
+
+        log.info("returning {} post summaries for editor", summaries.size());
+
+        return summaries;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPostsForEditor(String status, Consumer<PostResponse> consumer) {
+        Stream<Post> posts;
+
+        if (status != null && !status.isBlank()) {
+            try {
+                posts = repository.streamByPostStatus(PostStatus.valueOf(status.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                log.error("Invalid status requested: {}", status);
+                return;
+            }
+        } else {
+            posts = repository.streamAll();
+        }
+
+        long count = 0;
+        try (posts) {
+            for (Post post : (Iterable<Post>) posts::iterator) {
+                consumer.accept(mapToPostResponse(post));
+                // keep the persistence context flat, nothing here is written back
+                entityManager.detach(post);
+                count++;
+            }
+        }
+
+        log.info("streamed {} posts for editor", count);
+    }
+
 
     @Override
     public PostResponse addNewPost(PostRequest postRequest, String author) {
@@ -90,17 +232,21 @@ public class PostService implements IPostService{
         post.setPostStatus(postRequest.isDraft() ? PostStatus.DRAFT : PostStatus.PENDING);
 
         repository.save(post);
+        searchIndex.index(post);
 
         log.info("Adding new post: id: {} by {}", post.getId(), post.getAuthor());
 
-        return mapToPostResponse(post);
+        return publish(PostEventType.CREATED, post);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfiguration.POSTS_CACHE, key = "#postId")
     public PostResponse editPost(PostEditDto postEditDto, long postId) {
         Post post = repository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post with " + postId + " not found"));
 
+        boolean wasPublished = post.getPostStatus() == PostStatus.PUBLISHED;
+
         if (postEditDto != null) {
             if (postEditDto.getTitle() != null && !postEditDto.getTitle().isBlank()) {
                 post.setTitle(postEditDto.getTitle());
@@ -121,18 +267,25 @@ public class PostService implements IPostService{
             }
         }
         repository.save(post);
+        searchIndex.index(post);
+
+        if (wasPublished || post.getPostStatus() == PostStatus.PUBLISHED) {
+            feedSnapshot.invalidate();
+        }
 
         log.info("Editing post with id: {}. Edited post: {}", postId, post);
 
-        return mapToPostResponse(post);
+        return publish(PostEventType.EDITED, post);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfiguration.POSTS_CACHE, key = "#postId")
     public void updatePostStatus(long postId, PostStatusRequest statusRequest) {
             Post post = repository.findById(postId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Can't find post with id " + postId));
 
             String oldStatus = post.getPostStatus().toString();
+            boolean wasPublished = post.getPostStatus() == PostStatus.PUBLISHED;
 
             post.setPostStatus(statusRequest.status());
 
@@ -140,10 +293,104 @@ public class PostService implements IPostService{
 
             repository.save(post);
 
+            // a feed or search read before the commit would still see the old row, so only drop the copies after it
+            afterCommit(() -> {
+                searchIndex.index(post);
+                if (wasPublished || post.getPostStatus() == PostStatus.PUBLISHED) {
+                    feedSnapshot.invalidate();
+                }
+            });
+
+            publish(PostEventType.STATUS_CHANGED, post);
+
             log.info("Updating post status for post with id {}, from {} to {}", postId, oldStatus, newStatus);
     }
 
     @Override
+    @Transactional
+    public List<PostStatusUpdateResult> updatePostStatuses(List<PostStatusUpdate> updates) {
+        // a later entry for the same post wins, like it would with sequential calls
+        Map<Long, PostStatus> requestedStatuses = new LinkedHashMap<>();
+        Map<Long, Integer> winningEntries = new HashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            PostStatusUpdate update = updates.get(i);
+            if (update.postId() != null && update.status() != null) {
+                requestedStatuses.put(update.postId(), update.status());
+                winningEntries.put(update.postId(), i);
+            }
+        }
+
+        if (requestedStatuses.isEmpty()) {
+            return updates.stream()
+                    .map(update -> new PostStatusUpdateResult(update.postId(), update.status(), false))
+                    .toList();
+        }
+
+        Map<Long, PostStatus> previousStatuses = repository.findByIdIn(requestedStatuses.keySet()).stream()
+                .collect(Collectors.toMap(PostStatusView::getId, PostStatusView::getPostStatus));
+
+        Map<PostStatus, List<Long>> idsByStatus = previousStatuses.keySet().stream()
+                .collect(Collectors.groupingBy(requestedStatuses::get));
+
+        // one UPDATE ... WHERE id IN (...) per target status, all or nothing
+        idsByStatus.forEach((status, ids) -> repository.updatePostStatus(ids, status));
+
+        // the cache manager holds these back until the commit
+        Cache postsCache = cacheManager.getCache(CacheConfiguration.POSTS_CACHE);
+        if (postsCache != null) {
+            previousStatuses.keySet().forEach(postsCache::evict);
+        }
+
+        List<Post> reindexed = new ArrayList<>();
+        for (Post post : repository.findAllById(previousStatuses.keySet())) {
+            if (previousStatuses.get(post.getId()) == PostStatus.PUBLISHED || post.getPostStatus() == PostStatus.PUBLISHED) {
+                reindexed.add(post);
+            }
+            publish(PostEventType.STATUS_CHANGED, post);
+        }
+
+        if (!reindexed.isEmpty()) {
+            afterCommit(() -> {
+                reindexed.forEach(searchIndex::index);
+                feedSnapshot.invalidate();
+            });
+        }
+
+        log.info("Bulk status update: {} requested, {} updated", updates.size(), previousStatuses.size());
+
+        List<PostStatusUpdateResult> results = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            PostStatusUpdate update = updates.get(i);
+            // entries superseded by a later one for the same post were not applied
+            boolean applied = update.postId() != null && update.status() != null
+                    && winningEntries.get(update.postId()) == i
+                    && previousStatuses.containsKey(update.postId());
+            results.add(new PostStatusUpdateResult(update.postId(), update.status(), applied));
+        }
+        return results;
+    }
+
+    @Override
+    public List<PostResponse> searchPosts(String query, int page, int size) {
+        List<Long> rankedIds = searchIndex.search(query, Math.max(page, 0), Math.clamp(size, 1, MAX_PAGE_SIZE));
+
+        Map<Long, Post> postsById = repository.findAllById(rankedIds).stream()
+                .filter(post -> post.getPostStatus() == PostStatus.PUBLISHED)
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<PostResponse> postResponses = rankedIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToPostResponse)
+                .toList();
+
+        log.info("Search for '{}' returned {} posts", query, postResponses.size());
+
+        return postResponses;
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.POSTS_CACHE, key = "#postId")
     public PostResponse getPostById(long postId) {
         Post post = repository.findById(postId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Can't find post with id " + postId));
@@ -153,6 +400,33 @@ public class PostService implements IPostService{
         return mapToPostResponse(post);
     }
 
+    @Override
+    public List<Long> getPublishedPostIds(long afterId, int size) {
+        // a range scan on the (post_status, id) index without touching the rows
+        return repository.findIdsByPostStatusAfter(PostStatus.PUBLISHED, afterId, Limit.of(Math.clamp(size, 1, MAX_ID_PAGE_SIZE)));
+    }
+
+    /**
+     * Runs the action once the surrounding transaction has committed, or straight away without one.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private PostResponse publish(PostEventType type, Post post) {
+        PostResponse response = mapToPostResponse(post);
+        eventPublisher.publishEvent(new PostEvent(type, response, Instant.now()));
+        return response;
+    }
 
     private PostResponse mapToPostResponse(Post post) {
         return PostResponse.builder()
@@ -0,0 +1,74 @@
+package be.pxl.services.services;
+
+import be.pxl.services.config.QueueConfiguration;
+import be.pxl.services.domain.ProcessedCommand;
+import be.pxl.services.domain.dto.PostStatusChangeCommand;
+import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.repository.ProcessedCommandRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Applies status changes sent by review-service. The outbox there delivers at least once, so every command id
+ * is recorded in the same transaction as the change and a redelivered command is skipped.
+ */
+@Slf4j
+@Component
+public class PostStatusCommandListener {
+
+    private final IPostService postService;
+    private final ProcessedCommandRepository processedCommandRepository;
+    private final Timer propagationLag;
+
+    public PostStatusCommandListener(
+            IPostService postService,
+            ProcessedCommandRepository processedCommandRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.postService = postService;
+        this.processedCommandRepository = processedCommandRepository;
+        this.propagationLag = Timer.builder("post.status.propagation.lag")
+                .description("Time between a review decision and the post status change it caused")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    @RabbitListener(queues = QueueConfiguration.POST_STATUS_COMMAND_QUEUE)
+    public void onStatusChange(PostStatusChangeCommand command) {
+        if (processedCommandRepository.existsById(command.commandId())) {
+            log.debug("Skipping already processed status command {}", command.commandId());
+            return;
+        }
+
+        try {
+            postService.updatePostStatus(command.postId(), new PostStatusRequest(command.status()));
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
+                throw e;
+            }
+            // retrying won't make the post appear, so record the command and move on
+            log.warn("Dropping status command {}: post {} does not exist", command.commandId(), command.postId());
+        }
+
+        processedCommandRepository.save(ProcessedCommand.builder()
+                .commandId(command.commandId())
+                .processedAt(LocalDateTime.now())
+                .build());
+
+        if (command.issuedAt() != null) {
+            propagationLag.record(Duration.between(command.issuedAt(), Instant.now()));
+        }
+
+        log.info("Post {} set to {} by reviewer {}", command.postId(), command.status(), command.reviewer());
+    }
+}
@@ -0,0 +1,95 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.dto.FeedSnapshot;
+import be.pxl.services.domain.dto.PostPage;
+import be.pxl.services.domain.dto.PostResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Holds the serialized unfiltered published feed so anonymous feed requests skip the database and Jackson.
+ * Writers on this instance call {@link #invalidate()} after their change is committed, writes on other instances
+ * reach it through {@link PostEventListener}. Event delivery is best effort, so a snapshot is also rebuilt once it
+ * is older than the max age. Only one reader rebuilds at a time; the others wait for its result.
+ */
+@Component
+@Slf4j
+public class PublishedFeedSnapshot {
+
+    private final ObjectMapper objectMapper;
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicReference<FeedSnapshot> current = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    public PublishedFeedSnapshot(ObjectMapper objectMapper, @Value("${post.feed.snapshot-max-age:30s}") Duration maxAge) {
+        this(objectMapper, maxAge, System::nanoTime);
+    }
+
+    public PublishedFeedSnapshot(ObjectMapper objectMapper, Duration maxAge, LongSupplier clock) {
+        this.objectMapper = objectMapper;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.clock = clock;
+    }
+
+    public FeedSnapshot get(Supplier<PostPage<PostResponse>> loader) {
+        FeedSnapshot snapshot = current.get();
+        if (isCurrent(snapshot, version.get())) {
+            return snapshot;
+        }
+
+        rebuildLock.lock();
+        try {
+            // read the version before loading, so a write that lands during the load forces another rebuild
+            long expectedVersion = version.get();
+            snapshot = current.get();
+            if (isCurrent(snapshot, expectedVersion)) {
+                // another reader rebuilt it while this one waited
+                return snapshot;
+            }
+
+            FeedSnapshot rebuilt = build(expectedVersion, loader.get());
+            current.set(rebuilt);
+
+            log.debug("Rebuilt published feed snapshot version {} with etag {}", expectedVersion, rebuilt.etag());
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private boolean isCurrent(FeedSnapshot snapshot, long expectedVersion) {
+        return snapshot != null
+                && snapshot.version() == expectedVersion
+                && clock.getAsLong() - snapshot.builtAt() < maxAgeNanos;
+    }
+
+    private FeedSnapshot build(long snapshotVersion, PostPage<PostResponse> page) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(page.posts());
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new FeedSnapshot(snapshotVersion, clock.getAsLong(), body, etag, page.nextCursor());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize published feed", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.repository.PostRepository;
+import be.pxl.services.search.PostSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+/**
+ * Query time of the search index against a linear scan over 100k posts. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+public class PostSearchIndexBenchmarkTest {
+
+    private static final List<String> QUERIES = List.of("w17", "w123 w456", "w9999", "w42 w4242 w2");
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Test
+    public void search_At100kPosts() {
+        List<Post> posts = SearchCorpus.posts(100_000, 42);
+        PostSearchIndex index = new PostSearchIndex(postRepository);
+        posts.parallelStream().forEach(index::index);
+
+        long indexNanos = Long.MAX_VALUE;
+        long scanNanos = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (String query : QUERIES) {
+                index.search(query, 0, 20);
+            }
+            indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (String query : QUERIES) {
+                SearchCorpus.linearScan(posts, query);
+            }
+            scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+        }
+
+        log.info("100k posts, {} queries: index {} ms, linear scan {} ms",
+                QUERIES.size(), String.format("%.2f", indexNanos / 1e6), String.format("%.2f", scanNanos / 1e6));
+    }
+}
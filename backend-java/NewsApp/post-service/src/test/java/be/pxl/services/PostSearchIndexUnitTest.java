@@ -0,0 +1,125 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.repository.PostRepository;
+import be.pxl.services.search.PostSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PostSearchIndexUnitTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostSearchIndex searchIndex;
+
+    @BeforeEach
+    public void setup() {
+        searchIndex = new PostSearchIndex(postRepository);
+
+        searchIndex.index(publishedPost(1L, "Local elections", "The town council met to discuss the budget."));
+        searchIndex.index(publishedPost(2L, "Football results", "The local team won the elections of best club."));
+        searchIndex.index(publishedPost(3L, "Weather", "Sunny with a chance of rain."));
+    }
+
+    @Test
+    public void search_ShouldRankTitleMatchesFirst() {
+        List<Long> result = searchIndex.search("elections", 0, 10);
+
+        assertEquals(List.of(1L, 2L), result);
+    }
+
+    @Test
+    public void search_ShouldIgnoreCaseAndPunctuation() {
+        List<Long> result = searchIndex.search("RAIN!", 0, 10);
+
+        assertEquals(List.of(3L), result);
+    }
+
+    @Test
+    public void search_ShouldPage() {
+        assertEquals(List.of(1L), searchIndex.search("local elections", 0, 1));
+        assertEquals(List.of(2L), searchIndex.search("local elections", 1, 1));
+        assertTrue(searchIndex.search("local elections", 2, 1).isEmpty());
+    }
+
+    @Test
+    public void search_ShouldReturnNothing_WhenPageIsFarPastTheEnd() {
+        assertTrue(searchIndex.search("elections", Integer.MAX_VALUE, 100).isEmpty());
+        assertTrue(searchIndex.search("elections", Integer.MAX_VALUE / 2, 10).isEmpty());
+    }
+
+    @Test
+    public void rebuild_ShouldPageThroughPublishedPostsById() {
+        PostSearchIndex rebuilt = new PostSearchIndex(postRepository);
+        List<Post> firstBatch = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> publishedPost(id, "Post " + id, "Body"))
+                .toList();
+        when(postRepository.findByPostStatusAndIdGreaterThanOrderByIdAsc(PostStatus.PUBLISHED, 0L, Limit.of(1000)))
+                .thenReturn(firstBatch);
+        when(postRepository.findByPostStatusAndIdGreaterThanOrderByIdAsc(PostStatus.PUBLISHED, 1000L, Limit.of(1000)))
+                .thenReturn(List.of(publishedPost(1001L, "Last", "Body")));
+
+        rebuilt.rebuild();
+
+        assertEquals(1001, rebuilt.size());
+        assertEquals(List.of(1001L), rebuilt.search("last", 0, 10));
+    }
+
+    /**
+     * Query latency at 100k posts, against scanning every post for the query terms the way a LIKE query would.
+     */
+    @Test
+    public void search_ShouldFindTheSamePostsAsALinearScan() {
+        List<Post> posts = SearchCorpus.posts(2_000, 42);
+        PostSearchIndex large = new PostSearchIndex(postRepository);
+        posts.forEach(large::index);
+
+        for (String query : List.of("w17", "w123 w456", "w9999")) {
+            assertEquals(SearchCorpus.linearScan(posts, query), new HashSet<>(large.search(query, 0, posts.size())), query);
+        }
+    }
+
+    @Test
+    public void index_ShouldRemovePost_WhenNoLongerPublished() {
+        Post unpublished = publishedPost(1L, "Local elections", "The town council met to discuss the budget.");
+        unpublished.setPostStatus(PostStatus.DRAFT);
+
+        searchIndex.index(unpublished);
+
+        assertEquals(List.of(2L), searchIndex.search("elections", 0, 10));
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    public void index_ShouldReplaceOldTerms_WhenPostIsEdited() {
+        searchIndex.index(publishedPost(3L, "Weather", "Heavy snow expected."));
+
+        assertTrue(searchIndex.search("rain", 0, 10).isEmpty());
+        assertEquals(List.of(3L), searchIndex.search("snow", 0, 10));
+    }
+
+    private Post publishedPost(Long id, String title, String content) {
+        return Post.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .author("Bob")
+                .postStatus(PostStatus.PUBLISHED)
+                .build();
+    }
+}
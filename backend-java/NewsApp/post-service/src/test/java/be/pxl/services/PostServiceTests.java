@@ -4,8 +4,11 @@ import be.pxl.services.domain.Post;
 import be.pxl.services.domain.PostStatus;
 import be.pxl.services.domain.dto.PostEditDto;
 import be.pxl.services.domain.dto.PostRequest;
+import be.pxl.services.domain.dto.PostStatusChangeCommand;
 import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.domain.dto.PostStatusUpdate;
 import be.pxl.services.repository.PostRepository;
+import be.pxl.services.services.PostStatusCommandListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,15 +19,26 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -52,6 +66,15 @@ public class PostServiceTests {
     @Autowired
     private PostRepository repository;
 
+    @Autowired
+    private PostStatusCommandListener statusCommandListener;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @MockBean
     private RabbitTemplate rabbitTemplate;
 
@@ -101,6 +124,136 @@ public class PostServiceTests {
                 .andExpect(jsonPath("$[0].status").value("PUBLISHED"));
     }
 
+    @Test
+    public void getPublishedPosts_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/post"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void getPublishedPosts_ShouldChangeEtag_WhenPostIsPublished() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/post"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Post post = repository.findByPostStatus(PostStatus.DRAFT).getFirst();
+        String statusString = objectMapper.writeValueAsString(new PostStatusRequest(PostStatus.PUBLISHED));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/post/{postId}/status", post.getId())
+                        .header("X-Role", "editor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(statusString))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    public void getPublishedPosts_ShouldReturnSummaries_WhenSummaryViewRequested() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post")
+                        .param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Published Post"))
+                .andExpect(jsonPath("$[0].status").value("PUBLISHED"))
+                .andExpect(jsonPath("$[0].snippet").value("Content"))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
+    @Test
+    public void getPublishedPosts_ShouldFilterByAuthor() throws Exception {
+        repository.save(Post.builder()
+                .title("Alice's Post")
+                .content("Content")
+                .author("Alice")
+                .postStatus(PostStatus.PUBLISHED)
+                .creationDate(LocalDateTime.now())
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post")
+                        .param("author", "Alice")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].author").value("Alice"));
+    }
+
+    @Test
+    public void getPublishedPosts_ShouldFilterByDay() throws Exception {
+        repository.save(Post.builder()
+                .title("Archived Post")
+                .content("Content")
+                .author("Bob")
+                .postStatus(PostStatus.PUBLISHED)
+                .creationDate(LocalDateTime.of(2024, 3, 1, 23, 59))
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post")
+                        .param("day", "2024-03-01")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Archived Post"));
+    }
+
+    @Test
+    public void getDailyPublishedCounts_ShouldGroupPublishedPostsByDay() throws Exception {
+        LocalDate today = LocalDate.now();
+        repository.save(Post.builder()
+                .title("Yesterday's Post")
+                .content("Content")
+                .author("Bob")
+                .postStatus(PostStatus.PUBLISHED)
+                .creationDate(today.minusDays(1).atTime(12, 0))
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post/stats/daily")
+                        .param("from", today.minusDays(1).toString())
+                        .param("to", today.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].day").value(today.minusDays(1).toString()))
+                .andExpect(jsonPath("$[0].posts").value(1))
+                .andExpect(jsonPath("$[1].day").value(today.toString()))
+                .andExpect(jsonPath("$[1].posts").value(1));
+    }
+
+    @Test
+    public void getPublishedPosts_ShouldPageWithCursor() throws Exception {
+        repository.save(Post.builder()
+                .title("Newer Post")
+                .content("Content")
+                .author("Bob")
+                .postStatus(PostStatus.PUBLISHED)
+                .creationDate(LocalDateTime.now().plusMinutes(1))
+                .build());
+
+        String nextCursor = mockMvc.perform(MockMvcRequestBuilders.get("/api/post")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Newer Post"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post")
+                        .param("size", "1")
+                        .param("cursor", nextCursor)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Published Post"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     public void getPostsForEditor_ShouldReturnOk_WhenRoleIsEditor() throws Exception {
 
@@ -110,6 +263,22 @@ public class PostServiceTests {
                         .andExpect(status().isOk());
     }
 
+    @Test
+    public void streamPostsForEditor_ShouldWriteOnePostPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/post/editor")
+                        .header("X-Role", "editor")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(2, body.lines().count());
+    }
+
     @Test
     public void getPostsForEditor_ShouldReturnForbidden_WhenRoleIsNotEditor() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/post/editor")
@@ -161,6 +330,29 @@ public class PostServiceTests {
         assertEquals("New content", updatedPost.getContent());
     }
 
+    @Test
+    public void getPostById_ShouldNotReturnStaleCopy_AfterEdit() throws Exception {
+        Post post = repository.findByPostStatus(PostStatus.DRAFT).getFirst();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post/{postId}", post.getId())
+                        .header("X-Role", "editor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Draft Post"));
+
+        String editString = objectMapper.writeValueAsString(PostEditDto.builder().title("Edited Title").build());
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/post/{postId}", post.getId())
+                        .header("X-Role", "editor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(editString))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post/{postId}", post.getId())
+                        .header("X-Role", "editor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Edited Title"));
+    }
+
     @Test
     public void editPost_ShouldReturnForbidden_WhenRoleIsNotEditor() throws Exception {
         Post post = repository.findByPostStatus(PostStatus.DRAFT).getFirst();
@@ -192,6 +384,97 @@ public class PostServiceTests {
         assertEquals(PostStatus.PUBLISHED, updatedPost.getPostStatus());
     }
 
+    @Test
+    public void onStatusChange_ShouldApplyCommandOnlyOnce() {
+        Post post = repository.findByPostStatus(PostStatus.DRAFT).getFirst();
+        PostStatusChangeCommand command = new PostStatusChangeCommand(
+                "cmd-1", post.getId(), PostStatus.PUBLISHED, "Bob", null, Instant.now());
+
+        statusCommandListener.onStatusChange(command);
+        post.setPostStatus(PostStatus.REJECTED);
+        repository.save(post);
+        statusCommandListener.onStatusChange(command);
+
+        assertEquals(PostStatus.REJECTED, repository.findById(post.getId()).orElseThrow().getPostStatus());
+    }
+
+    @Test
+    public void onStatusChange_ShouldNotLeaveStaleCopies_WhenReadBeforeCommit() throws Exception {
+        Post post = repository.findByPostStatus(PostStatus.DRAFT).getFirst();
+        PostStatusChangeCommand command = new PostStatusChangeCommand(
+                "cmd-2", post.getId(), PostStatus.PUBLISHED, "Bob", null, Instant.now());
+
+        transactionTemplate.executeWithoutResult(transaction -> {
+            statusCommandListener.onStatusChange(command);
+            entityManager.flush();
+
+            // the UPDATE has run but is not committed: another request still reads the old rows
+            CompletableFuture.runAsync(() -> {
+                try {
+                    mockMvc.perform(MockMvcRequestBuilders.get("/api/post"))
+                            .andExpect(jsonPath("$.length()").value(1));
+                    mockMvc.perform(MockMvcRequestBuilders.get("/api/post/{postId}", post.getId())
+                                    .header("X-Role", "editor"))
+                            .andExpect(jsonPath("$.status").value("DRAFT"));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).join();
+        });
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post"))
+                .andExpect(jsonPath("$.length()").value(2));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post/{postId}", post.getId())
+                        .header("X-Role", "editor"))
+                .andExpect(jsonPath("$.status").value("PUBLISHED"));
+    }
+
+    @Test
+    public void updatePostStatuses_ShouldUpdateExistingPostsAndReportMissingOnes() throws Exception {
+        Post post = repository.findByPostStatus(PostStatus.DRAFT).getFirst();
+
+        List<PostStatusUpdate> updates = List.of(
+                new PostStatusUpdate(post.getId(), PostStatus.PUBLISHED),
+                new PostStatusUpdate(999L, PostStatus.PUBLISHED)
+        );
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/post/status")
+                        .header("X-Role", "editor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updates)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].updated").value(true))
+                .andExpect(jsonPath("$[1].updated").value(false));
+
+        assertEquals(PostStatus.PUBLISHED, repository.findById(post.getId()).orElseThrow().getPostStatus());
+    }
+
+    @Test
+    public void getPublishedPostIds_ShouldPageWithTheLastIdAsCursor() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            repository.save(Post.builder()
+                    .title("Published " + i)
+                    .content("Content")
+                    .author("Alice")
+                    .postStatus(PostStatus.PUBLISHED)
+                    .creationDate(LocalDateTime.now())
+                    .build());
+        }
+        List<Long> publishedIds = repository.findByPostStatus(PostStatus.PUBLISHED).stream().map(Post::getId).sorted().toList();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post/published/ids").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1]").value(publishedIds.get(1)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/post/published/ids")
+                        .param("after", publishedIds.get(1).toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0]").value(publishedIds.get(2)));
+    }
+
     @Test
     public void updatePostStatus_ShouldReturnNotFound_WhenPostDoesNotExist() throws Exception {
         Long nonExistentPostId = 999L;
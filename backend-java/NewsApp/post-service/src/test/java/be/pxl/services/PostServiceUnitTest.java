@@ -1,27 +1,78 @@
 package be.pxl.services;
 
+import be.pxl.services.config.CacheConfiguration;
 import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostEventType;
 import be.pxl.services.domain.PostStatus;
+import be.pxl.services.domain.dto.DailyPostCountResponse;
+import be.pxl.services.domain.dto.FeedSnapshot;
+import be.pxl.services.domain.dto.PostCursor;
 import be.pxl.services.domain.dto.PostEditDto;
+import be.pxl.services.domain.dto.PostEvent;
+import be.pxl.services.domain.dto.PostFilter;
+import be.pxl.services.domain.dto.PostPage;
 import be.pxl.services.domain.dto.PostRequest;
 import be.pxl.services.domain.dto.PostResponse;
+import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.domain.dto.PostStatusUpdate;
+import be.pxl.services.domain.dto.PostStatusUpdateResult;
+import be.pxl.services.domain.dto.PostSummaryResponse;
+import be.pxl.services.repository.DailyPostCount;
 import be.pxl.services.repository.PostRepository;
+import be.pxl.services.repository.PostSpecifications;
+import be.pxl.services.repository.PostStatusView;
+import be.pxl.services.search.PostSearchIndex;
+import be.pxl.services.services.IPostService;
+import be.pxl.services.services.PostEventListener;
 import be.pxl.services.services.PostService;
+import be.pxl.services.services.PublishedFeedSnapshot;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ExtendWith(MockitoExtension.class)
 public class PostServiceUnitTest {
@@ -29,6 +80,21 @@ public class PostServiceUnitTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private PostSearchIndex searchIndex;
+
+    @Mock
+    private PublishedFeedSnapshot feedSnapshot;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PostService postService;
 
@@ -44,43 +110,99 @@ public class PostServiceUnitTest {
                 .postStatus(PostStatus.PUBLISHED)
                 .build();
 
-        when(postRepository.findByPostStatus(PostStatus.PUBLISHED))
+        when(postRepository.findBy(ArgumentMatchers.<Specification<Post>>any(), any()))
                 .thenReturn(List.of(publishedPost));
 
-        List<PostResponse> publishedPosts = postService.getPublishedPosts(null, null, null);
+        PostPage<PostResponse> page = postService.getPublishedPosts(new PostFilter(), null, 20);
 
-        assertEquals(1, publishedPosts.size());
-        assertEquals("Test post", publishedPosts.getFirst().getTitle());
-        assertEquals("PUBLISHED", publishedPosts.getFirst().getStatus());
+        assertEquals(1, page.posts().size());
+        assertEquals("Test post", page.posts().getFirst().getTitle());
+        assertEquals("PUBLISHED", page.posts().getFirst().getStatus());
+        assertNull(page.nextCursor());
     }
 
     @Test
-    public void getPublishedPosts_ShouldFilterByContent() {
-        Post post1 = Post.builder()
-                .id(1L)
-                .title("Test")
-                .content("specific content")
+    public void getPublishedPosts_ShouldReturnNextCursor_WhenMorePostsExist() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Post newestPost = Post.builder()
+                .id(2L)
+                .title("Newest")
+                .content("newest content")
                 .author("John")
+                .creationDate(now)
                 .postStatus(PostStatus.PUBLISHED)
                 .build();
 
-        Post post2 = Post.builder()
-                .id(2L)
-                .title("Test 2")
-                .content("other content")
+        Post olderPost = Post.builder()
+                .id(1L)
+                .title("Older")
+                .content("older content")
                 .author("Alice")
+                .creationDate(now.minusHours(1))
                 .postStatus(PostStatus.PUBLISHED)
                 .build();
 
-        when(postRepository.findByPostStatus(PostStatus.PUBLISHED))
-                .thenReturn(List.of(post1, post2));
+        when(postRepository.findBy(ArgumentMatchers.<Specification<Post>>any(), any()))
+                .thenReturn(List.of(newestPost, olderPost));
 
-        List<PostResponse> result = postService.getPublishedPosts("specific content", null, null);
+        PostPage<PostResponse> page = postService.getPublishedPosts(new PostFilter(), null, 1);
 
-        assertEquals(1, result.size());
-        assertEquals("specific content", result.getFirst().getContent());
+        assertEquals(1, page.posts().size());
+        assertEquals("Newest", page.posts().getFirst().getTitle());
+        assertEquals(new PostCursor(now, 2L), PostCursor.decode(page.nextCursor()));
     }
 
+    @Test
+    public void getPublishedPostSummaries_ShouldReturnNextCursor_WhenMorePostsExist() {
+        LocalDateTime now = LocalDateTime.now();
+
+        when(postRepository.findSummaries(any(), eq(PostSpecifications.NEWEST_FIRST), eq(2)))
+                .thenReturn(List.of(
+                        new PostSummaryResponse(2L, "Newest", "John", now, PostStatus.PUBLISHED, "newest"),
+                        new PostSummaryResponse(1L, "Older", "Alice", now.minusHours(1), PostStatus.PUBLISHED, "older")
+                ));
+
+        PostPage<PostSummaryResponse> page = postService.getPublishedPostSummaries(new PostFilter(), null, 1);
+
+        assertEquals(1, page.posts().size());
+        assertEquals("Newest", page.posts().getFirst().title());
+        assertEquals("PUBLISHED", page.posts().getFirst().status());
+        assertEquals(new PostCursor(now, 2L), PostCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    public void getPublishedPosts_ShouldRejectMalformedCursor() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                postService.getPublishedPosts(new PostFilter(), "not-a-cursor", 20));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    public void getDailyPublishedCounts_ShouldQueryWholeDaysAndMapRows() {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 2);
+        when(postRepository.countPerDay(PostStatus.PUBLISHED, from.atStartOfDay(), LocalDate.of(2024, 3, 3).atStartOfDay()))
+                .thenReturn(List.of(dailyCount(from, 3), dailyCount(to, 1)));
+
+        List<DailyPostCountResponse> counts = postService.getDailyPublishedCounts(from, to);
+
+        assertEquals(List.of(new DailyPostCountResponse(from, 3), new DailyPostCountResponse(to, 1)), counts);
+    }
+
+    @Test
+    public void getDailyPublishedCounts_ShouldRejectInvalidRange() {
+        LocalDate day = LocalDate.of(2024, 3, 1);
+
+        ResponseStatusException reversed = assertThrows(ResponseStatusException.class, () ->
+                postService.getDailyPublishedCounts(day, day.minusDays(1)));
+        ResponseStatusException tooLong = assertThrows(ResponseStatusException.class, () ->
+                postService.getDailyPublishedCounts(day, day.plusYears(2)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, reversed.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+    }
 
     @Test
     public void getAllPostsForEditor_ShouldReturnAllPosts_WhenNoStatusProvided() {
@@ -129,6 +251,30 @@ public class PostServiceUnitTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    public void streamPostsForEditor_ShouldPassEveryPostToConsumer() {
+        Post first = Post.builder().id(1L).title("Post 1").postStatus(PostStatus.DRAFT).build();
+        Post second = Post.builder().id(2L).title("Post 2").postStatus(PostStatus.PUBLISHED).build();
+
+        when(postRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        List<PostResponse> streamed = new ArrayList<>();
+        postService.streamPostsForEditor(null, streamed::add);
+
+        assertEquals(List.of("Post 1", "Post 2"), streamed.stream().map(PostResponse::getTitle).toList());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    public void streamPostsForEditor_ShouldStreamNothing_WhenInvalidStatus() {
+        List<PostResponse> streamed = new ArrayList<>();
+
+        postService.streamPostsForEditor("INVALID_STATUS", streamed::add);
+
+        assertTrue(streamed.isEmpty());
+    }
+
     @Test
     public void addNewPost_ShouldSetDraftStatus_WhenIsDraftTrue() {
         String author = "Bob";
@@ -145,6 +291,14 @@ public class PostServiceUnitTest {
                 post.getPostStatus() == PostStatus.DRAFT));
     }
 
+    @Test
+    public void addNewPost_ShouldPublishCreatedEvent() {
+        postService.addNewPost(new PostRequest("Title", "Content", false), "Bob");
+
+        verify(eventPublisher).publishEvent(argThat((PostEvent event) ->
+                event.type() == PostEventType.CREATED && event.post().getStatus().equals("PENDING")));
+    }
+
     @Test
     public void addNewPost_ShouldSetPendingStatus_WhenIsDraftFalse() {
         String author = "Bob";
@@ -190,4 +344,337 @@ public class PostServiceUnitTest {
 
         assert(existingPost.getPostStatus() == PostStatus.PENDING);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void updatePostStatus_ShouldReindexPost() {
+        Post post = Post.builder()
+                .id(1L)
+                .title("Pending Post")
+                .postStatus(PostStatus.PENDING)
+                .build();
+
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        postService.updatePostStatus(1L, new PostStatusRequest(PostStatus.PUBLISHED));
+
+        verify(searchIndex).index(argThat(p -> p.getPostStatus() == PostStatus.PUBLISHED));
+    }
+
+    @Test
+    public void searchPosts_ShouldReturnPostsInRankOrder() {
+        Post first = Post.builder()
+                .id(1L)
+                .title("First")
+                .postStatus(PostStatus.PUBLISHED)
+                .build();
+
+        Post second = Post.builder()
+                .id(2L)
+                .title("Second")
+                .postStatus(PostStatus.PUBLISHED)
+                .build();
+
+        when(searchIndex.search("query", 0, 20)).thenReturn(List.of(2L, 1L));
+        when(postRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        List<PostResponse> result = postService.searchPosts("query", 0, 20);
+
+        assertEquals(2, result.size());
+        assertEquals("Second", result.get(0).getTitle());
+        assertEquals("First", result.get(1).getTitle());
+    }
+
+    @Test
+    public void updatePostStatus_ShouldInvalidateFeed_WhenPostIsPublished() {
+        Post post = Post.builder()
+                .id(1L)
+                .postStatus(PostStatus.PENDING)
+                .build();
+
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        postService.updatePostStatus(1L, new PostStatusRequest(PostStatus.PUBLISHED));
+
+        verify(feedSnapshot).invalidate();
+    }
+
+    @Test
+    public void updatePostStatus_ShouldKeepFeed_WhenPublishedStatusIsUntouched() {
+        Post post = Post.builder()
+                .id(1L)
+                .postStatus(PostStatus.DRAFT)
+                .build();
+
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        postService.updatePostStatus(1L, new PostStatusRequest(PostStatus.PENDING));
+
+        verify(feedSnapshot, never()).invalidate();
+    }
+
+    @Test
+    public void updatePostStatus_ShouldNotLetAReadBeforeTheCommitKeepTheOldFeed() {
+        PublishedFeedSnapshot snapshot = new PublishedFeedSnapshot(JsonMapper.builder().findAndAddModules().build(), Duration.ofSeconds(30));
+        PostService service = new PostService(postRepository, searchIndex, snapshot, entityManager, cacheManager, eventPublisher);
+        Post post = Post.builder()
+                .id(1L)
+                .title("Pending Post")
+                .postStatus(PostStatus.PENDING)
+                .build();
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        // what other transactions can see: the published feed is empty until the status change commits
+        List<PostResponse> committedFeed = new CopyOnWriteArrayList<>();
+        Supplier<PostPage<PostResponse>> loader = () -> new PostPage<>(List.copyOf(committedFeed), null);
+        FeedSnapshot beforeUpdate = snapshot.get(loader);
+
+        TransactionSynchronizationManager.initSynchronization();
+        FeedSnapshot duringTransaction;
+        try {
+            service.updatePostStatus(1L, new PostStatusRequest(PostStatus.PUBLISHED));
+
+            // a feed request between the UPDATE and the commit
+            duringTransaction = CompletableFuture.supplyAsync(() -> snapshot.get(loader)).join();
+            verify(searchIndex, never()).index(any());
+
+            committedFeed.add(PostResponse.builder().id(1L).title("Pending Post").status("PUBLISHED").build());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(beforeUpdate.etag(), duringTransaction.etag());
+        assertNotEquals(beforeUpdate.etag(), snapshot.get(loader).etag());
+        verify(searchIndex).index(post);
+    }
+
+    @Test
+    public void postsCache_ShouldEvictOnlyAfterTheCommit() {
+        Cache posts = new CacheConfiguration().cacheManager(100, Duration.ofMinutes(5)).getCache(CacheConfiguration.POSTS_CACHE);
+        PostResponse pending = PostResponse.builder().id(1L).status("PENDING").build();
+        posts.put(1L, pending);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            posts.evict(1L);
+            // a getPostById between the UPDATE and the commit still reads and caches the old row
+            CompletableFuture.runAsync(() -> posts.put(1L, pending)).join();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(posts.get(1L));
+    }
+
+    @Test
+    public void feedSnapshot_ShouldBeReused_UntilInvalidated() {
+        PublishedFeedSnapshot snapshot = new PublishedFeedSnapshot(JsonMapper.builder().findAndAddModules().build(), Duration.ofSeconds(30));
+        PostResponse post = PostResponse.builder().id(1L).title("Feed post").status("PUBLISHED").build();
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<PostPage<PostResponse>> loader = () -> {
+            loads.incrementAndGet();
+            return new PostPage<>(List.of(post), null);
+        };
+
+        FeedSnapshot first = snapshot.get(loader);
+        FeedSnapshot second = snapshot.get(loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        snapshot.invalidate();
+        FeedSnapshot third = snapshot.get(loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(first.etag(), third.etag());
+    }
+
+    @Test
+    public void feedSnapshot_ShouldBeRebuilt_OnceOlderThanTheMaxAge() {
+        AtomicLong clock = new AtomicLong();
+        PublishedFeedSnapshot snapshot = new PublishedFeedSnapshot(JsonMapper.builder().findAndAddModules().build(), Duration.ofSeconds(30), clock::get);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<PostPage<PostResponse>> loader = () -> {
+            loads.incrementAndGet();
+            return new PostPage<>(List.of(), null);
+        };
+
+        snapshot.get(loader);
+        clock.addAndGet(Duration.ofSeconds(29).toNanos());
+        snapshot.get(loader);
+
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        snapshot.get(loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void feedSnapshot_ShouldLetOnlyOneReaderRebuild() throws Exception {
+        PublishedFeedSnapshot snapshot = new PublishedFeedSnapshot(JsonMapper.builder().findAndAddModules().build(), Duration.ofSeconds(30));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        Supplier<PostPage<PostResponse>> loader = () -> {
+            loads.incrementAndGet();
+            try {
+                releaseLoad.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new PostPage<>(List.of(), null);
+        };
+
+        int readers = 8;
+        CountDownLatch started = new CountDownLatch(readers);
+        List<Future<FeedSnapshot>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(readers)) {
+            for (int i = 0; i < readers; i++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return snapshot.get(loader);
+                }));
+            }
+            started.await();
+            // give every reader the chance to reach the loader
+            Thread.sleep(100);
+            releaseLoad.countDown();
+
+            FeedSnapshot first = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<FeedSnapshot> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void onPostEvent_ShouldInvalidateTheFeedSnapshot() {
+        PostEventListener listener = new PostEventListener(feedSnapshot, cacheManager);
+
+        listener.onPostEvent(new PostEvent(PostEventType.STATUS_CHANGED, PostResponse.builder().id(1L).status("PUBLISHED").build(), Instant.now()));
+
+        verify(feedSnapshot).invalidate();
+    }
+
+    @Test
+    public void onPostEvent_ShouldEvictThePostFromThisInstancesCache() {
+        CacheManager localCacheManager = new CacheConfiguration().cacheManager(100, Duration.ofMinutes(1));
+        Cache posts = localCacheManager.getCache(CacheConfiguration.POSTS_CACHE);
+        posts.put(1L, PostResponse.builder().id(1L).status("PENDING").build());
+        posts.put(2L, PostResponse.builder().id(2L).status("PUBLISHED").build());
+        PostEventListener listener = new PostEventListener(feedSnapshot, localCacheManager);
+
+        // another instance published post 1
+        listener.onPostEvent(new PostEvent(PostEventType.STATUS_CHANGED, PostResponse.builder().id(1L).status("PUBLISHED").build(), Instant.now()));
+
+        assertNull(posts.get(1L));
+        assertNotNull(posts.get(2L));
+    }
+
+    @Test
+    public void updatePostStatuses_ShouldIssueOneUpdatePerTargetStatus() {
+        when(postRepository.findByIdIn(Set.of(1L, 2L, 3L, 99L))).thenReturn(List.of(
+                statusView(1L, PostStatus.PENDING),
+                statusView(2L, PostStatus.PENDING),
+                statusView(3L, PostStatus.PENDING)
+        ));
+        when(postRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(
+                Post.builder().id(1L).postStatus(PostStatus.PUBLISHED).build(),
+                Post.builder().id(2L).postStatus(PostStatus.PUBLISHED).build(),
+                Post.builder().id(3L).postStatus(PostStatus.REJECTED).build()
+        ));
+
+        List<PostStatusUpdateResult> results = postService.updatePostStatuses(List.of(
+                new PostStatusUpdate(1L, PostStatus.PUBLISHED),
+                new PostStatusUpdate(2L, PostStatus.PUBLISHED),
+                new PostStatusUpdate(3L, PostStatus.REJECTED),
+                new PostStatusUpdate(99L, PostStatus.PUBLISHED)
+        ));
+
+        verify(postRepository).updatePostStatus(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L))), eq(PostStatus.PUBLISHED));
+        verify(postRepository).updatePostStatus(List.of(3L), PostStatus.REJECTED);
+        verify(feedSnapshot).invalidate();
+        verify(eventPublisher, times(3)).publishEvent(argThat((PostEvent event) -> event.type() == PostEventType.STATUS_CHANGED));
+
+        assertEquals(List.of(true, true, true, false), results.stream().map(PostStatusUpdateResult::updated).toList());
+    }
+
+    @Test
+    public void updatePostStatuses_ShouldReportSupersededEntriesAsNotApplied() {
+        when(postRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(statusView(1L, PostStatus.PENDING)));
+        when(postRepository.findAllById(Set.of(1L))).thenReturn(List.of(
+                Post.builder().id(1L).postStatus(PostStatus.REJECTED).build()));
+
+        List<PostStatusUpdateResult> results = postService.updatePostStatuses(List.of(
+                new PostStatusUpdate(1L, PostStatus.PUBLISHED),
+                new PostStatusUpdate(1L, PostStatus.REJECTED)
+        ));
+
+        verify(postRepository).updatePostStatus(List.of(1L), PostStatus.REJECTED);
+        verify(postRepository, never()).updatePostStatus(any(), eq(PostStatus.PUBLISHED));
+        assertEquals(List.of(false, true), results.stream().map(PostStatusUpdateResult::updated).toList());
+    }
+
+    @Test
+    public void updatePostStatuses_ShouldReindexAndInvalidateFeed_OnlyAfterCommit() {
+        Post post = Post.builder().id(1L).postStatus(PostStatus.PUBLISHED).build();
+        when(postRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(statusView(1L, PostStatus.PENDING)));
+        when(postRepository.findAllById(Set.of(1L))).thenReturn(List.of(post));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postService.updatePostStatuses(List.of(new PostStatusUpdate(1L, PostStatus.PUBLISHED)));
+
+            verify(searchIndex, never()).index(any());
+            verify(feedSnapshot, never()).invalidate();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(searchIndex).index(post);
+        verify(feedSnapshot).invalidate();
+    }
+
+    @Test
+    public void getPublishedPostIds_ShouldPageByIdAndCapThePageSize() {
+        when(postRepository.findIdsByPostStatusAfter(PostStatus.PUBLISHED, 42L, Limit.of(IPostService.MAX_ID_PAGE_SIZE)))
+                .thenReturn(List.of(43L, 50L));
+
+        assertEquals(List.of(43L, 50L), postService.getPublishedPostIds(42L, Integer.MAX_VALUE));
+    }
+
+    private DailyPostCount dailyCount(LocalDate day, long posts) {
+        return new DailyPostCount() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public long getPosts() {
+                return posts;
+            }
+        };
+    }
+
+    private PostStatusView statusView(Long id, PostStatus status) {
+        return new PostStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public PostStatus getPostStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package be.pxl.services;
+
+import be.pxl.services.config.QueueConfiguration;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.domain.dto.PostStatusChangeCommand;
+import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.services.IPostService;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@Testcontainers
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.cloud.config.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.rabbitmq.listener.simple.retry.enabled=true",
+        "spring.rabbitmq.listener.simple.retry.max-attempts=5",
+        "spring.rabbitmq.listener.simple.retry.initial-interval=10ms"
+})
+public class PostStatusCommandDeadLetterTests {
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @MockBean
+    private IPostService postService;
+
+    @Container
+    private static MySQLContainer sqlContainer =
+            new MySQLContainer("mysql:5.7.37");
+
+    @Container
+    private static RabbitMQContainer rabbitContainer =
+            new RabbitMQContainer("rabbitmq:3.13-management");
+
+    @DynamicPropertySource
+    static void registerContainerProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", sqlContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", sqlContainer::getUsername);
+        registry.add("spring.datasource.password", sqlContainer::getPassword);
+        registry.add("spring.rabbitmq.host", rabbitContainer::getHost);
+        registry.add("spring.rabbitmq.port", rabbitContainer::getAmqpPort);
+        registry.add("spring.rabbitmq.username", rabbitContainer::getAdminUsername);
+        registry.add("spring.rabbitmq.password", rabbitContainer::getAdminPassword);
+    }
+
+    @Test
+    public void commandThatKeepsFailing_ShouldLandInTheDeadLetterQueue() {
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(postService).updatePostStatus(anyLong(), any(PostStatusRequest.class));
+        PostStatusChangeCommand command = new PostStatusChangeCommand("cmd-dead", 1L, PostStatus.PUBLISHED, "alice", null, Instant.now());
+
+        rabbitTemplate.convertAndSend("", QueueConfiguration.POST_STATUS_COMMAND_QUEUE, command);
+
+        PostStatusChangeCommand deadLettered = rabbitTemplate.receiveAndConvert(
+                QueueConfiguration.POST_STATUS_COMMAND_DLQ, 10_000, new ParameterizedTypeReference<>() { });
+
+        assertNotNull(deadLettered);
+        assertEquals("cmd-dead", deadLettered.commandId());
+        verify(postService, times(5)).updatePostStatus(1L, new PostStatusRequest(PostStatus.PUBLISHED));
+    }
+}
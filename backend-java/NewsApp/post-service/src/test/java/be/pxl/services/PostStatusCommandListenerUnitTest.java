@@ -0,0 +1,105 @@
+package be.pxl.services;
+
+import be.pxl.services.config.QueueConfiguration;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.domain.ProcessedCommand;
+import be.pxl.services.domain.dto.PostStatusChangeCommand;
+import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.repository.ProcessedCommandRepository;
+import be.pxl.services.services.IPostService;
+import be.pxl.services.services.PostStatusCommandListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Queue;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PostStatusCommandListenerUnitTest {
+
+    @Mock
+    private IPostService postService;
+
+    @Mock
+    private ProcessedCommandRepository processedCommandRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PostStatusCommandListener listener;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new PostStatusCommandListener(postService, processedCommandRepository, meterRegistry);
+    }
+
+    @Test
+    public void onStatusChange_ShouldUpdateStatusAndRecordCommand() {
+        when(processedCommandRepository.existsById("cmd-1")).thenReturn(false);
+
+        listener.onStatusChange(command("cmd-1", 1L));
+
+        verify(postService).updatePostStatus(1L, new PostStatusRequest(PostStatus.PUBLISHED));
+        verify(processedCommandRepository).save(argThat((ProcessedCommand processed) -> processed.getCommandId().equals("cmd-1")));
+        assertEquals(1, meterRegistry.get("post.status.propagation.lag").timer().count());
+    }
+
+    @Test
+    public void onStatusChange_ShouldSkipRedeliveredCommand() {
+        when(processedCommandRepository.existsById("cmd-1")).thenReturn(true);
+
+        listener.onStatusChange(command("cmd-1", 1L));
+
+        verify(postService, never()).updatePostStatus(anyLong(), any());
+        verify(processedCommandRepository, never()).save(any());
+    }
+
+    @Test
+    public void onStatusChange_ShouldRecordCommand_WhenPostDoesNotExist() {
+        when(processedCommandRepository.existsById("cmd-1")).thenReturn(false);
+        doThrow(new ResponseStatusException(HttpStatus.NOT_FOUND))
+                .when(postService).updatePostStatus(anyLong(), any());
+
+        listener.onStatusChange(command("cmd-1", 99L));
+
+        verify(processedCommandRepository).save(any());
+    }
+
+    @Test
+    public void onStatusChange_ShouldRethrowOtherFailures() {
+        when(processedCommandRepository.existsById("cmd-1")).thenReturn(false);
+        doThrow(new IllegalStateException("database down"))
+                .when(postService).updatePostStatus(anyLong(), any());
+
+        assertThrows(IllegalStateException.class, () -> listener.onStatusChange(command("cmd-1", 1L)));
+        verify(processedCommandRepository, never()).save(any());
+    }
+
+    @Test
+    public void postStatusCommandQueue_ShouldDeadLetterRejectedCommands() {
+        Queue queue = new QueueConfiguration().postStatusCommandQueue();
+
+        assertEquals(QueueConfiguration.POST_STATUS_COMMAND_DLX, queue.getArguments().get("x-dead-letter-exchange"));
+        assertEquals(QueueConfiguration.POST_STATUS_COMMAND_DLQ, queue.getArguments().get("x-dead-letter-routing-key"));
+    }
+
+    private PostStatusChangeCommand command(String commandId, Long postId) {
+        return new PostStatusChangeCommand(commandId, postId, PostStatus.PUBLISHED, "Bob", null, Instant.now());
+    }
+}
@@ -0,0 +1,61 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Generated published posts over a Zipf-like vocabulary of 10k words, and the linear scan the search index replaces.
+ */
+final class SearchCorpus {
+
+    private SearchCorpus() {
+    }
+
+    static List<Post> posts(int count, long seed) {
+        Random random = new Random(seed);
+        List<Post> posts = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            posts.add(Post.builder()
+                    .id(id)
+                    .title(word(random) + " " + word(random))
+                    .content(sentence(random, 40))
+                    .author("Bob")
+                    .postStatus(PostStatus.PUBLISHED)
+                    .build());
+        }
+        return posts;
+    }
+
+    static Set<Long> linearScan(List<Post> posts, String query) {
+        Pattern terms = Pattern.compile("\\b(" + query.replace(' ', '|') + ")\\b");
+        Set<Long> matches = new HashSet<>();
+        for (Post post : posts) {
+            if (terms.matcher(post.getTitle().toLowerCase(Locale.ROOT)).find()
+                    || terms.matcher(post.getContent().toLowerCase(Locale.ROOT)).find()) {
+                matches.add(post.getId());
+            }
+        }
+        return matches;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sentence.append(word(random)).append(' ');
+        }
+        return sentence.toString();
+    }
+
+    // a few words are very common, most are rare
+    private static String word(Random random) {
+        return "w" + (int) Math.pow(10_000, random.nextDouble());
+    }
+}
@@ -0,0 +1,136 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.Post;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput and latency of a database-backed listing with {@code spring.threads.virtual.enabled} off and on.
+ * Runs the real Tomcat server, since MockMvc calls the controller on the test thread and never touches the request
+ * executor. Run with {@code mvn test -Pbenchmark -pl post-service}; needs Docker.
+ */
+@Tag("benchmark")
+@Slf4j
+@Testcontainers
+public class VirtualThreadsBenchmarkTest {
+
+    // twice the default Tomcat pool, so platform threads have to queue
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int AUTHORS = 10;
+
+    @Container
+    private static MySQLContainer<?> sqlContainer = new MySQLContainer<>("mysql:5.7.37");
+
+    @Test
+    public void publishedPosts_PlatformAgainstVirtualThreads() throws Exception {
+        for (boolean virtualThreads : List.of(false, true)) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                seed(context.getBean(PostRepository.class));
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                // warm-up round for the JIT, the connection pools and the Hibernate query plans
+                load(port, REQUESTS_PER_CLIENT / 5);
+                Result result = load(port, REQUESTS_PER_CLIENT);
+
+                log.info("virtual threads {}: {} clients x {} requests, {} req/s, p50 {} ms, p99 {} ms",
+                        virtualThreads ? "on" : "off", CLIENTS, REQUESTS_PER_CLIENT,
+                        result.requestsPerSecond(), result.percentileMillis(0.50), result.percentileMillis(0.99));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(PostServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + sqlContainer.getJdbcUrl(),
+                        "spring.datasource.username=" + sqlContainer.getUsername(),
+                        "spring.datasource.password=" + sqlContainer.getPassword(),
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.cloud.config.enabled=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "eureka.client.enabled=false",
+                        // reads only, so nothing is published and no broker is needed
+                        "spring.rabbitmq.listener.simple.auto-startup=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static void seed(PostRepository repository) {
+        repository.saveAll(IntStream.range(0, 500)
+                .mapToObj(i -> Post.builder()
+                        .title("Post " + i)
+                        .content("Content " + i)
+                        .author("author" + (i % AUTHORS))
+                        .postStatus(PostStatus.PUBLISHED)
+                        .creationDate(LocalDateTime.now().minusMinutes(i))
+                        .build())
+                .toList());
+    }
+
+    private static Result load(int port, int requestsPerClient) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = IntStream.range(0, CLIENTS)
+                    .<Future<?>>mapToObj(c -> clients.submit(() -> {
+                        for (int i = 0; i < requestsPerClient; i++) {
+                            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                                    "http://localhost:" + port + "/api/post?author=author" + ((c + i) % AUTHORS))).build();
+                            long sent = System.nanoTime();
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                            assertEquals(200, response.statusCode());
+                        }
+                        return null;
+                    }))
+                    .toList();
+            for (Future<?> clientRun : running) {
+                clientRun.get();
+            }
+        }
+        return new Result(latencies, System.nanoTime() - start);
+    }
+
+    private record Result(long[] latencies, long elapsedNanos) {
+
+        long requestsPerSecond() {
+            return latencies.length * 1_000_000_000L / elapsedNanos;
+        }
+
+        String percentileMillis(double percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return String.format("%.1f", sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6);
+        }
+    }
+}
@@ -1,22 +1,13 @@
 package be.pxl.services.client;
 
 import be.pxl.services.domain.dto.PostResponse;
-import be.pxl.services.domain.dto.PostStatusRequest;
 import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
-@FeignClient(name = "post-service")
+@FeignClient(name = "post-service", fallbackFactory = PostClientFallbackFactory.class)
 public interface PostClient {
     @GetMapping("/api/post/editor?status=PENDING")
     List<PostResponse> getPendingPosts(@RequestHeader("X-Role") String role);
-
-    @PutMapping("/api/post/{postId}/status")
-    ResponseEntity<Void> updatePostStatus(
-            @PathVariable Long postId,
-            @RequestBody PostStatusRequest statusRequest,
-            @RequestHeader("X-Role") String role
-    );
 }
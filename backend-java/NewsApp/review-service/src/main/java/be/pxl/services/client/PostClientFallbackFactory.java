@@ -0,0 +1,34 @@
+package be.pxl.services.client;
+
+import be.pxl.services.domain.dto.PostResponse;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Answers {@link PostClient} calls when post-service is failing, too slow, or its circuit is open.
+ * Status changes never reach this client: approvals and rejections are queued in the outbox and applied
+ * by post-service once it is back, so only reads need a fallback.
+ */
+@Slf4j
+@Component
+public class PostClientFallbackFactory implements FallbackFactory<PostClient> {
+
+    @Override
+    public PostClient create(Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            throw clientError;
+        }
+
+        return role -> {
+            log.warn("post-service unavailable while loading pending posts: {}", cause.toString());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Pending posts are unavailable right now, try again later");
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package be.pxl.services.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueueConfiguration {
+
+    public static final String POST_STATUS_COMMAND_QUEUE = "post-status-command-queue";
+    public static final String POST_STATUS_COMMAND_DLX = "post-status-command-dlx";
+    public static final String POST_STATUS_COMMAND_DLQ = "post-status-command-queue.dlq";
+    public static final String POST_EVENTS_EXCHANGE = "post-events";
+
+    /**
+     * Declared here as well as in post-service, so commands relayed before post-service ever started are not dropped as unroutable.
+     * The arguments have to match post-service's declaration, which also owns the dead letter exchange and queue.
+     */
+    @Bean
+    public Queue postStatusCommandQueue() {
+        return QueueBuilder.durable(POST_STATUS_COMMAND_QUEUE)
+                .deadLetterExchange(POST_STATUS_COMMAND_DLX)
+                .deadLetterRoutingKey(POST_STATUS_COMMAND_DLQ)
+                .build();
+    }
+
+    @Bean
+    public FanoutExchange postEventsExchange() {
+        return new FanoutExchange(POST_EVENTS_EXCHANGE, true, false);
+    }
+
+    /**
+     * Every instance keeps its own replica, so each one gets a private queue that goes away with it.
+     */
+    @Bean
+    public Queue pendingPostEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding pendingPostEventsBinding(Queue pendingPostEventsQueue, FanoutExchange postEventsExchange) {
+        return BindingBuilder.bind(pendingPostEventsQueue).to(postEventsExchange);
+    }
+
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
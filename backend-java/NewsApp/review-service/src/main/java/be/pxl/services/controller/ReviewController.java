@@ -40,8 +40,8 @@ public class ReviewController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        reviewService.approvePost(postId, reviewer, role);
-        return ResponseEntity.ok().build();
+        reviewService.approvePost(postId, reviewer);
+        return ResponseEntity.accepted().build();
     }
 
     @PostMapping("/{postId}/reject")
@@ -56,7 +56,7 @@ public class ReviewController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        reviewService.rejectPost(postId, reviewer, rejectRequest, role);
-        return ResponseEntity.ok().build();
+        reviewService.rejectPost(postId, reviewer, rejectRequest);
+        return ResponseEntity.accepted().build();
     }
 }
@@ -0,0 +1,34 @@
+package be.pxl.services.domain;
+
+import be.pxl.services.idgeneration.IdGeneration;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message waiting to be published to RabbitMQ. Rows are written in the same transaction as the
+ * change they describe and removed by the {@link be.pxl.services.services.OutboxRelay} once the broker confirmed them.
+ */
+@Entity
+@Table(name = "outbox_message")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_message_seq")
+    @SequenceGenerator(name = "outbox_message_seq", sequenceName = "outbox_message_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+    private String exchange;
+    private String routingKey;
+    private String contentType;
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package be.pxl.services.domain;
 
+import be.pxl.services.idgeneration.IdGeneration;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Review {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
     private Long postId;
     private String reviewer;
@@ -0,0 +1,10 @@
+package be.pxl.services.domain.dto;
+
+import be.pxl.services.domain.PostEventType;
+
+import java.time.Instant;
+
+/**
+ * Lifecycle event broadcast by post-service, carrying the post as it is after the change.
+ */
+public record PostEvent(PostEventType type, PostResponse post, Instant occurredAt) { }
@@ -0,0 +1,17 @@
+package be.pxl.services.domain.dto;
+
+import be.pxl.services.domain.PostStatus;
+
+import java.time.Instant;
+
+/**
+ * Status change for post-service, published through the outbox. {@code commandId} lets the consumer drop redeliveries.
+ */
+public record PostStatusChangeCommand(
+        String commandId,
+        Long postId,
+        PostStatus status,
+        String reviewer,
+        String reason,
+        Instant issuedAt
+) { }
@@ -0,0 +1,11 @@
+package be.pxl.services.repository;
+
+import be.pxl.services.domain.OutboxMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    List<OutboxMessage> findByOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,118 @@
+package be.pxl.services.services;
+
+import be.pxl.services.domain.OutboxMessage;
+import be.pxl.services.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox to RabbitMQ. A batch is published in one go and only the messages the broker
+ * acknowledged are deleted, so anything nacked or unconfirmed is retried on the next run (at-least-once).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "review.outbox.relay.enabled", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+
+    public OutboxRelay(
+            OutboxMessageRepository outboxRepository,
+            RabbitTemplate rabbitTemplate,
+            @Value("${review.outbox.relay.batch-size:100}") int batchSize,
+            @Value("${review.outbox.relay.confirm-timeout:5s}") Duration confirmTimeout
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${review.outbox.relay.interval:500ms}")
+    public void relay() {
+        List<OutboxMessage> batch;
+        do {
+            batch = outboxRepository.findByOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+        } while (publish(batch) == batch.size() && batch.size() == batchSize);
+    }
+
+    /**
+     * Publishes the batch, waits for the broker confirms and deletes the confirmed rows.
+     *
+     * @return the number of messages that were confirmed
+     */
+    int publish(List<OutboxMessage> batch) {
+        Map<Long, CorrelationData> pending = new LinkedHashMap<>();
+        for (OutboxMessage message : batch) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(message.getId()));
+            Message amqpMessage = MessageBuilder.withBody(message.getPayload().getBytes(StandardCharsets.UTF_8))
+                    .setContentType(message.getContentType())
+                    .setContentEncoding(StandardCharsets.UTF_8.name())
+                    .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                    .setMessageId(String.valueOf(message.getId()))
+                    .build();
+            rabbitTemplate.send(message.getExchange(), message.getRoutingKey(), amqpMessage, correlation);
+            pending.put(message.getId(), correlation);
+        }
+
+        List<Long> confirmed = new ArrayList<>();
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        for (Map.Entry<Long, CorrelationData> entry : pending.entrySet()) {
+            if (isAcked(entry.getKey(), entry.getValue(), deadline)) {
+                confirmed.add(entry.getKey());
+            }
+        }
+
+        if (!confirmed.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(confirmed);
+        }
+
+        log.debug("Relayed {} of {} outbox messages", confirmed.size(), batch.size());
+        return confirmed.size();
+    }
+
+    private boolean isAcked(Long id, CorrelationData correlation, long deadline) {
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Outbox message {} was nacked by the broker: {}", id, confirm.getReason());
+            }
+            return confirm.isAck();
+        } catch (TimeoutException e) {
+            log.warn("No publisher confirm for outbox message {} within {}", id, confirmTimeout);
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("Publishing outbox message {} failed", id, e.getCause());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package be.pxl.services.services;
+
+import be.pxl.services.client.PostClient;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.domain.dto.PostEvent;
+import be.pxl.services.domain.dto.PostResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of the posts waiting for review, kept up to date from post-service's lifecycle events.
+ * A full resync from post-service runs at startup and periodically to repair anything a lost event left behind.
+ * Events that arrive while a resync is in flight are replayed on top of the fresh copy.
+ * An event older than one already applied for the same post (a redelivery, or two changes overtaking each other)
+ * is dropped, so a late PUBLISHED can't put a rejected post back in the queue.
+ */
+@Slf4j
+@Component
+public class PendingPostReplica {
+
+    private static final String EDITOR_ROLE = "editor";
+    // how long to remember when a post last changed; anything arriving later than this is left to the resync
+    private static final Duration ORDERING_WINDOW = Duration.ofHours(1);
+
+    private final PostClient postClient;
+    private final boolean enabled;
+    private final Timer replicationLag;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<PostEvent> eventsDuringResync = new ArrayList<>();
+    private final Map<Long, Instant> lastApplied = new HashMap<>();
+
+    private NavigableMap<Long, PostResponse> pendingById = new ConcurrentSkipListMap<>();
+    private boolean resyncing;
+    private volatile List<PostResponse> pendingPosts = List.of();
+    private volatile boolean ready;
+
+    public PendingPostReplica(
+            PostClient postClient,
+            MeterRegistry meterRegistry,
+            @Value("${review.replica.enabled:true}") boolean enabled
+    ) {
+        this.postClient = postClient;
+        this.enabled = enabled;
+        this.replicationLag = Timer.builder("review.pending.replica.lag")
+                .description("Time between a post change in post-service and the pending replica applying it")
+                .register(meterRegistry);
+        Gauge.builder("review.pending.replica.size", this, replica -> replica.pendingPosts.size())
+                .description("Posts currently held in the pending replica")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the replica has completed at least one resync and can be served instead of asking post-service.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Pending posts ordered by id. The list is immutable and shared between callers.
+     */
+    public List<PostResponse> getPendingPosts() {
+        return pendingPosts;
+    }
+
+    @RabbitListener(queues = "#{pendingPostEventsQueue.name}")
+    public void onPostEvent(PostEvent event) {
+        lock.lock();
+        try {
+            if (!acceptInOrder(event)) {
+                log.debug("Dropping out-of-order {} event for post {}", event.type(), event.post().id());
+                return;
+            }
+            if (resyncing) {
+                eventsDuringResync.add(event);
+            }
+            apply(pendingById, event);
+            pendingPosts = List.copyOf(pendingById.values());
+        } finally {
+            lock.unlock();
+        }
+
+        if (event.occurredAt() != null) {
+            replicationLag.record(Duration.between(event.occurredAt(), Instant.now()));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${review.replica.initial-delay:0}", fixedDelayString = "${review.replica.resync-interval:10m}")
+    public void resync() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            resyncing = true;
+            eventsDuringResync.clear();
+        } finally {
+            lock.unlock();
+        }
+
+        List<PostResponse> snapshot;
+        try {
+            snapshot = postClient.getPendingPosts(EDITOR_ROLE);
+        } catch (RuntimeException e) {
+            log.warn("Resync of pending posts failed, keeping the current replica", e);
+            finishResync(null);
+            return;
+        }
+
+        finishResync(snapshot);
+        log.info("Resynced pending post replica with {} posts", pendingPosts.size());
+    }
+
+    private void finishResync(List<PostResponse> snapshot) {
+        lock.lock();
+        try {
+            if (snapshot != null) {
+                NavigableMap<Long, PostResponse> fresh = new ConcurrentSkipListMap<>();
+                snapshot.forEach(post -> fresh.put(post.id(), post));
+                eventsDuringResync.forEach(event -> apply(fresh, event));
+
+                pendingById = fresh;
+                pendingPosts = List.copyOf(fresh.values());
+                ready = true;
+
+                Instant horizon = Instant.now().minus(ORDERING_WINDOW);
+                lastApplied.values().removeIf(occurredAt -> occurredAt.isBefore(horizon));
+            }
+            resyncing = false;
+            eventsDuringResync.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remembers when the event's post last changed. Returns false if a later event for that post was already applied.
+     */
+    private boolean acceptInOrder(PostEvent event) {
+        if (event.occurredAt() == null) {
+            return true;
+        }
+        Instant previous = lastApplied.get(event.post().id());
+        if (previous != null && event.occurredAt().isBefore(previous)) {
+            return false;
+        }
+        lastApplied.put(event.post().id(), event.occurredAt());
+        return true;
+    }
+
+    private static void apply(NavigableMap<Long, PostResponse> target, PostEvent event) {
+        PostResponse post = event.post();
+        if (post.status() == PostStatus.PENDING) {
+            target.put(post.id(), post);
+        } else {
+            target.remove(post.id());
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package be.pxl.services.services;
 
 import be.pxl.services.client.PostClient;
+import be.pxl.services.config.QueueConfiguration;
+import be.pxl.services.domain.OutboxMessage;
 import be.pxl.services.domain.PostStatus;
 import be.pxl.services.domain.Review;
 import be.pxl.services.domain.dto.PostResponse;
-import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.domain.dto.PostStatusChangeCommand;
 import be.pxl.services.domain.dto.RejectRequest;
+import be.pxl.services.repository.OutboxMessageRepository;
 import be.pxl.services.repository.ReviewRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -23,16 +30,22 @@ public class ReviewService implements IReviewService{
 
     private final ReviewRepository reviewRepository;
     private final PostClient postClient;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxMessageRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final PendingPostReplica pendingPostReplica;
 
     public List<PostResponse> getPendingPosts(String role) {
+        if (pendingPostReplica.isReady()) {
+            return pendingPostReplica.getPendingPosts();
+        }
+
         List<PostResponse> pendingPosts = postClient.getPendingPosts(role);
         log.info("Fetching {} pending posts", pendingPosts.size());
         return pendingPosts;
     }
 
     @Transactional
-    public void approvePost(Long postId, String reviewer, String role) {
+    public void approvePost(Long postId, String reviewer) {
         log.debug("Approving post: {}", postId);
 
         Review review = Review.builder()
@@ -43,18 +56,14 @@ public class ReviewService implements IReviewService{
                 .build();
         reviewRepository.save(review);
 
-        postClient.updatePostStatus(postId, new PostStatusRequest(PostStatus.PUBLISHED), role);
-
-        String message = String.format("Post %d approved by %s", postId, reviewer);
-
-        rabbitTemplate.convertAndSend("post-status-queue", message);
+        enqueue(postId, PostStatus.PUBLISHED, reviewer, null);
 
         log.info("Post {} has been APPROVED by {}. Review saved with id: {}",
                 postId, reviewer, review.getId());
     }
 
     @Transactional
-    public void rejectPost(Long postId, String reviewer, RejectRequest rejectRequest, String role) {
+    public void rejectPost(Long postId, String reviewer, RejectRequest rejectRequest) {
         log.debug("Rejecting post: {}", postId);
 
         Review review = Review.builder()
@@ -66,13 +75,29 @@ public class ReviewService implements IReviewService{
                 .build();
         reviewRepository.save(review);
 
-        postClient.updatePostStatus(postId, new PostStatusRequest(PostStatus.REJECTED), role);
-
-        String message = String.format("Post %d rejected by %s, reason: %s", postId, reviewer, rejectRequest.reason());
-
-        rabbitTemplate.convertAndSend("post-status-queue", message);
+        enqueue(postId, PostStatus.REJECTED, reviewer, rejectRequest.reason());
 
         log.info("Post {} has been REJECTED by {}. Reason: '{}'. Review saved with id: {}",
                 postId, reviewer, rejectRequest.reason(), review.getId());
     }
+
+    /**
+     * Stores the status change in the outbox as part of the current transaction; {@link OutboxRelay} publishes it.
+     */
+    private void enqueue(Long postId, PostStatus status, String reviewer, String reason) {
+        PostStatusChangeCommand command = new PostStatusChangeCommand(
+                UUID.randomUUID().toString(), postId, status, reviewer, reason, Instant.now());
+
+        try {
+            outboxRepository.save(OutboxMessage.builder()
+                    .exchange("")
+                    .routingKey(QueueConfiguration.POST_STATUS_COMMAND_QUEUE)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .payload(objectMapper.writeValueAsString(command))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize status command for post " + postId, e);
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package be.pxl.services;
+
+import be.pxl.services.domain.OutboxMessage;
+import be.pxl.services.repository.OutboxMessageRepository;
+import be.pxl.services.services.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayUnitTest {
+
+    @Mock
+    private OutboxMessageRepository outboxRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    public void setup() {
+        relay = new OutboxRelay(outboxRepository, rabbitTemplate, 10, Duration.ofMillis(100));
+    }
+
+    @Test
+    public void relay_ShouldDeleteOnlyConfirmedMessages() {
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(10))).thenReturn(List.of(message(1L), message(2L)));
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = correlation.getId().equals("1");
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "rejected"));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), eq("post-status-command-queue"), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    public void relay_ShouldKeepMessages_WhenBrokerDoesNotConfirm() {
+        when(outboxRepository.findByOrderByIdAsc(Limit.of(10))).thenReturn(List.of(message(1L)));
+
+        relay.relay();
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private OutboxMessage message(Long id) {
+        return OutboxMessage.builder()
+                .id(id)
+                .exchange("")
+                .routingKey("post-status-command-queue")
+                .contentType("application/json")
+                .payload("{\"postId\":" + id + "}")
+                .build();
+    }
+}
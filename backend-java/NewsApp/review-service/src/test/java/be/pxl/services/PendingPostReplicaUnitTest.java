@@ -0,0 +1,107 @@
+package be.pxl.services;
+
+import be.pxl.services.client.PostClient;
+import be.pxl.services.domain.PostEventType;
+import be.pxl.services.domain.PostStatus;
+import be.pxl.services.domain.dto.PostEvent;
+import be.pxl.services.domain.dto.PostResponse;
+import be.pxl.services.services.PendingPostReplica;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PendingPostReplicaUnitTest {
+
+    @Mock
+    private PostClient postClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PendingPostReplica replica;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        replica = new PendingPostReplica(postClient, meterRegistry, true);
+    }
+
+    @Test
+    public void resync_ShouldLoadPendingPostsAndBecomeReady() {
+        when(postClient.getPendingPosts("editor")).thenReturn(List.of(post(2L, PostStatus.PENDING), post(1L, PostStatus.PENDING)));
+
+        assertFalse(replica.isReady());
+
+        replica.resync();
+
+        assertTrue(replica.isReady());
+        assertEquals(List.of(1L, 2L), replica.getPendingPosts().stream().map(PostResponse::id).toList());
+    }
+
+    @Test
+    public void resync_ShouldStayUnready_WhenPostServiceFails() {
+        when(postClient.getPendingPosts("editor")).thenThrow(new IllegalStateException("post-service down"));
+
+        replica.resync();
+
+        assertFalse(replica.isReady());
+    }
+
+    @Test
+    public void onPostEvent_ShouldAddAndRemovePendingPosts() {
+        replica.onPostEvent(event(PostEventType.CREATED, post(1L, PostStatus.PENDING)));
+        replica.onPostEvent(event(PostEventType.CREATED, post(2L, PostStatus.DRAFT)));
+
+        assertEquals(List.of(1L), replica.getPendingPosts().stream().map(PostResponse::id).toList());
+
+        replica.onPostEvent(event(PostEventType.STATUS_CHANGED, post(1L, PostStatus.PUBLISHED)));
+
+        assertTrue(replica.getPendingPosts().isEmpty());
+        assertEquals(3, meterRegistry.get("review.pending.replica.lag").timer().count());
+    }
+
+    @Test
+    public void onPostEvent_ShouldDropEventsOlderThanTheLastAppliedForThePost() {
+        Instant submitted = Instant.now().minusSeconds(5);
+        Instant rejected = submitted.plusSeconds(2);
+
+        replica.onPostEvent(new PostEvent(PostEventType.STATUS_CHANGED, post(1L, PostStatus.REJECTED), rejected));
+        // redelivered, or overtaken by the rejection on the way here
+        replica.onPostEvent(new PostEvent(PostEventType.CREATED, post(1L, PostStatus.PENDING), submitted));
+
+        assertTrue(replica.getPendingPosts().isEmpty());
+
+        replica.onPostEvent(new PostEvent(PostEventType.EDITED, post(1L, PostStatus.PENDING), rejected.plusSeconds(1)));
+
+        assertEquals(List.of(1L), replica.getPendingPosts().stream().map(PostResponse::id).toList());
+    }
+
+    @Test
+    public void resync_ShouldDoNothing_WhenDisabled() {
+        replica = new PendingPostReplica(postClient, meterRegistry, false);
+
+        replica.resync();
+
+        assertFalse(replica.isReady());
+        verifyNoInteractions(postClient);
+    }
+
+    private PostEvent event(PostEventType type, PostResponse post) {
+        return new PostEvent(type, post, Instant.now());
+    }
+
+    private PostResponse post(Long id, PostStatus status) {
+        return new PostResponse(id, "Title " + id, "Content", "Bob", LocalDateTime.now(), status);
+    }
+}
@@ -4,6 +4,7 @@ import be.pxl.services.client.PostClient;
 import be.pxl.services.domain.PostStatus;
 import be.pxl.services.domain.dto.PostResponse;
 import be.pxl.services.domain.dto.RejectRequest;
+import be.pxl.services.repository.OutboxMessageRepository;
 import be.pxl.services.repository.ReviewRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,7 +41,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "spring.cloud.config.enabled=false",
         "spring.cloud.discovery.enabled=false",
         "eureka.client.enabled=false",
-        "spring.rabbitmq.listener.simple.auto-startup=false"
+        "spring.rabbitmq.listener.simple.auto-startup=false",
+        "review.outbox.relay.enabled=false",
+        "review.replica.enabled=false"
 })
 public class ReviewServiceTests {
     @Autowired
@@ -51,6 +55,9 @@ public class ReviewServiceTests {
     @Autowired
     private ReviewRepository repository;
 
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
     @MockBean
     private PostClient client;
 
@@ -71,6 +78,7 @@ public class ReviewServiceTests {
     @BeforeEach
     public void setup() {
         repository.deleteAll();
+        outboxRepository.deleteAll();
 
         List<PostResponse> pendingResponses = new ArrayList<>();
         pendingResponses.add(new PostResponse(
@@ -96,14 +104,16 @@ public class ReviewServiceTests {
     }
 
     @Test
-    public void approvePost_ShouldReturnOk_WhenRoleIsEditor() throws Exception {
+    public void approvePost_ShouldReturnAccepted_WhenRoleIsEditor() throws Exception {
         Long postId = 1L;
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/review/{postId}/approve", postId)
                         .header("X-Role", "editor")
                         .header("X-User", "TestUser")
                         .contentType(MediaType.APPLICATION_JSON))
-                        .andExpect(status().isOk());
+                        .andExpect(status().isAccepted());
+
+        assertEquals(1, outboxRepository.count());
     }
 
     @Test
@@ -118,7 +128,7 @@ public class ReviewServiceTests {
     }
 
     @Test
-    public void rejectPost_ShouldReturnOk_WhenRoleIsEditor() throws Exception {
+    public void rejectPost_ShouldReturnAccepted_WhenRoleIsEditor() throws Exception {
         Long postId = 1L;
 
         RejectRequest rejectRequest = new RejectRequest("Reject reason");
@@ -130,7 +140,7 @@ public class ReviewServiceTests {
                         .header("X-User", "TestUser")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(requestString))
-                        .andExpect(status().isOk());
+                        .andExpect(status().isAccepted());
     }
 
     @Test
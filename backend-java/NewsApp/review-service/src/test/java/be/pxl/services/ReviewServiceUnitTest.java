@@ -1,12 +1,16 @@
 package be.pxl.services;
 
 import be.pxl.services.client.PostClient;
+import be.pxl.services.config.QueueConfiguration;
+import be.pxl.services.domain.OutboxMessage;
 import be.pxl.services.domain.PostStatus;
 import be.pxl.services.domain.Review;
 import be.pxl.services.domain.dto.PostResponse;
-import be.pxl.services.domain.dto.PostStatusRequest;
+import be.pxl.services.domain.dto.PostStatusChangeCommand;
 import be.pxl.services.domain.dto.RejectRequest;
+import be.pxl.services.repository.OutboxMessageRepository;
 import be.pxl.services.repository.ReviewRepository;
+import be.pxl.services.services.PendingPostReplica;
 import be.pxl.services.services.ReviewService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,14 +18,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,7 +41,13 @@ public class ReviewServiceUnitTest {
     private PostClient postClient;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private OutboxMessageRepository outboxRepository;
+
+    @Mock
+    private PendingPostReplica pendingPostReplica;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
 
     @InjectMocks
     private ReviewService reviewService;
@@ -42,6 +55,9 @@ public class ReviewServiceUnitTest {
     @Captor
     ArgumentCaptor<Review> reviewCaptor;
 
+    @Captor
+    ArgumentCaptor<OutboxMessage> outboxCaptor;
+
     @Test
     public void getPendingPosts_ShouldReturnListFromClient() {
         PostResponse mockPost = new PostResponse(
@@ -60,18 +76,26 @@ public class ReviewServiceUnitTest {
         verify(postClient).getPendingPosts(role);
     }
 
-    @Test void approvePost_ShouldSaveReview_And_UpdateStatusPublished() {
+    @Test
+    public void getPendingPosts_ShouldServeReplica_WhenReady() {
+        PostResponse mockPost = new PostResponse(
+                1L, "Test Title", "Content", "Bob", LocalDateTime.now(), PostStatus.PENDING
+        );
+
+        when(pendingPostReplica.isReady()).thenReturn(true);
+        when(pendingPostReplica.getPendingPosts()).thenReturn(List.of(mockPost));
+
+        List<PostResponse> result = reviewService.getPendingPosts("editor");
+
+        assertEquals(List.of(mockPost), result);
+        verifyNoInteractions(postClient);
+    }
+
+    @Test void approvePost_ShouldSaveReview_And_QueuePublishedStatus() throws Exception {
         Long postId = 123L;
         String reviewer = "Bob";
-        String role = "editor";
 
-        reviewService.approvePost(postId, reviewer, role);
-
-        verify(postClient).updatePostStatus(
-                postId,
-                new PostStatusRequest(PostStatus.PUBLISHED),
-                role
-        );
+        reviewService.approvePost(postId, reviewer);
 
         verify(repository).save(reviewCaptor.capture());
 
@@ -79,21 +103,21 @@ public class ReviewServiceUnitTest {
 
         assertEquals(postId, savedReview.getPostId());
         assertTrue(savedReview.isApproved());
+
+        PostStatusChangeCommand command = queuedCommand();
+
+        assertEquals(postId, command.postId());
+        assertEquals(PostStatus.PUBLISHED, command.status());
+        assertEquals(reviewer, command.reviewer());
+        assertNotNull(command.commandId());
     }
 
     @Test
-    public void rejectPost_ShouldSaveReview_And_UpdateStatusRejected() {
+    public void rejectPost_ShouldSaveReview_And_QueueRejectedStatus() throws Exception {
         Long postId = 123L;
         String reviewer = "Bob";
-        String role = "editor";
-
-        reviewService.rejectPost(postId, reviewer, new RejectRequest("Bad title"), role);
 
-        verify(postClient).updatePostStatus(
-                postId,
-                new PostStatusRequest(PostStatus.REJECTED),
-                role
-        );
+        reviewService.rejectPost(postId, reviewer, new RejectRequest("Bad title"));
 
         verify(repository).save(reviewCaptor.capture());
 
@@ -101,5 +125,28 @@ public class ReviewServiceUnitTest {
 
         assertEquals(postId, savedReview.getPostId());
         assertFalse(savedReview.isApproved());
+
+        PostStatusChangeCommand command = queuedCommand();
+
+        assertEquals(PostStatus.REJECTED, command.status());
+        assertEquals("Bad title", command.reason());
+    }
+
+    @Test
+    public void approvePost_ShouldNotCallPostService() {
+        reviewService.approvePost(123L, "Bob");
+
+        verifyNoInteractions(postClient);
+    }
+
+    private PostStatusChangeCommand queuedCommand() throws Exception {
+        verify(outboxRepository).save(outboxCaptor.capture());
+
+        OutboxMessage message = outboxCaptor.getValue();
+
+        assertEquals(QueueConfiguration.POST_STATUS_COMMAND_QUEUE, message.getRoutingKey());
+        assertEquals("application/json", message.getContentType());
+
+        return objectMapper.readValue(message.getPayload(), PostStatusChangeCommand.class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package be.pxl.services.virtualthreads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Exposes virtual thread behaviour as metrics. Pinned carrier threads are also logged with the top of their stack,
+ * so the offending monitor is easy to find.
+ * <p>
+ * Only the pinned and submit-failed JFR events are recorded: both are rare, while start and end events would cost
+ * an event per virtual thread, i.e. per request.
+ * <p>
+ * Java 21 has no public API for the carrier pool itself, so the parallelism gauge reports the configured target.
+ * The scheduler can temporarily add carriers beyond it to compensate for pinned threads; the pinned timer is the
+ * signal for that.
+ */
+@Slf4j
+public class VirtualThreadMetrics implements MeterBinder, DisposableBean {
+
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+    private static final int LOGGED_FRAMES = 5;
+
+    private final RecordingStream recordingStream = new RecordingStream();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time a virtual thread kept its carrier thread blocked")
+                .register(registry);
+        Counter submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads that could not be scheduled on a carrier thread")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.carrier.parallelism", VirtualThreadMetrics::carrierParallelism)
+                .description("Configured parallelism of the virtual thread scheduler, not the number of live carrier threads")
+                .register(registry);
+
+        recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(PINNED_THRESHOLD).withStackTrace();
+        recordingStream.enable("jdk.VirtualThreadSubmitFailed");
+
+        recordingStream.onEvent("jdk.VirtualThreadPinned", event -> {
+            pinned.record(event.getDuration());
+            log.warn("Virtual thread pinned its carrier for {} ms at {}", event.getDuration().toMillis(), topFrames(event));
+        });
+        recordingStream.onEvent("jdk.VirtualThreadSubmitFailed", event -> submitFailed.increment());
+
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+    private static double carrierParallelism() {
+        String parallelism = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        return parallelism != null ? Integer.parseInt(parallelism) : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static String topFrames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "<no stack trace>";
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+}